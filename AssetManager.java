@@ -0,0 +1,118 @@
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+// Loads images and sounds on a pool of background threads and keeps each one
+// for the life of the program, so every request for the same path shares one
+// load. Requests return straight away with a future, so the window can show
+// its first frame while the assets are still being read and decoded.
+//
+// A file that cannot be loaded is reported and replaced by a placeholder
+// (a magenta image, or a null sound) rather than stopping the game.
+public class AssetManager {
+    private static final ExecutorService loaders = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(runnable, "Asset loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private static final ConcurrentMap<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CompletableFuture<GameEngine.AudioClip>> sounds = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Long> loadTimes = new ConcurrentHashMap<>();
+
+    private AssetManager() {}
+
+    // Starts loading an image, or returns the load already started for this path
+    public static CompletableFuture<BufferedImage> image(String path) {
+        return images.computeIfAbsent(path, key -> CompletableFuture.supplyAsync(() -> loadImage(key), loaders));
+    }
+
+    // Starts decoding a sound, or returns the load already started for this path
+    public static CompletableFuture<GameEngine.AudioClip> sound(String path) {
+        return sounds.computeIfAbsent(path, key -> CompletableFuture.supplyAsync(() -> loadSound(key), loaders));
+    }
+
+    // Completes once everything requested so far has finished loading
+    public static CompletableFuture<Void> whenLoaded() {
+        List<CompletableFuture<?>> loads = new ArrayList<>(images.values());
+        loads.addAll(sounds.values());
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private static BufferedImage loadImage(String path) {
+        long start = System.nanoTime();
+        try {
+            BufferedImage image = ImageIO.read(new File(path));
+            if (image == null) {
+                throw new IllegalArgumentException("not a supported image format");
+            }
+            return image;
+        } catch (Exception e) {
+            System.out.println("Error: could not load image " + path + ": " + e.getMessage());
+            return placeholder(128, 128);
+        } finally {
+            loadTimes.put(path, System.nanoTime() - start);
+        }
+    }
+
+    private static GameEngine.AudioClip loadSound(String path) {
+        long start = System.nanoTime();
+        try (AudioInputStream stream = AudioSystem.getAudioInputStream(new File(path))) {
+            return new GameEngine.AudioClip(stream.getFormat(), stream.readAllBytes());
+        } catch (Exception e) {
+            System.out.println("Error: cannot open Audio File " + path + ": " + e.getMessage());
+            return null;
+        } finally {
+            loadTimes.put(path, System.nanoTime() - start);
+        }
+    }
+
+    // Stands in for an image that failed to load, so it is obvious on screen
+    static BufferedImage placeholder(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.MAGENTA);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        return image;
+    }
+
+    //-------------------------------------------------------
+    // Metrics
+    //-------------------------------------------------------
+
+    // Number of assets that have finished loading, including failed ones
+    public static int loadedCount() {
+        return loadTimes.size();
+    }
+
+    // Time taken to load the given path in nanoseconds, or -1 if it has not finished
+    public static long loadTimeNanos(String path) {
+        return loadTimes.getOrDefault(path, -1L);
+    }
+
+    // Summary of every asset and how long it took, e.g. for logging at startup
+    public static String describe() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Assets: ").append(loadTimes.size()).append(" loaded");
+        for (Map.Entry<String, Long> entry : new TreeMap<>(loadTimes).entrySet()) {
+            sb.append(String.format("%n  %8.2f ms  %s", entry.getValue() / 1e6, entry.getKey()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,113 @@
+import java.awt.Color;
+
+// A copy of everything the playing screen draws, as it was at the end of one
+// update: the letter, colour and flip state of every box, flattened to
+// line * letterCount + box, the message under the board and the on-screen
+// keyboard's letter statuses.
+//
+// Game keeps two of these. The update fills the one that is not being shown
+// in place and then publishes it, so the renderer never sees a half-copied
+// board and copying one allocates nothing. A snapshot is only refilled two
+// publishes after it was shown, by which time the engine has drawn it.
+public final class BoardSnapshot {
+    private static final int MAX_LINES = 6;
+    private static final int MAX_BOXES = MAX_LINES * Dictionary.MAX_LETTERS;
+
+    private int letterCount;
+    private int lines;
+    private final char[] letters = new char[MAX_BOXES];
+    private final Color[] colors = new Color[MAX_BOXES];
+    private final boolean[] solid = new boolean[MAX_BOXES];
+    private final boolean[] flipping = new boolean[MAX_BOXES];
+    private final float[] flipProgress = new float[MAX_BOXES];
+
+    // Message under the board, null when there is none
+    private String message;
+    private Color messageColor;
+    private String hint; // hint the message was last built for
+    private String hintMessage;
+
+    private final char[] keyStatus = new char[26];
+    private int keyboardVersion;
+
+    // Copies the board of a game, which must not change while this runs
+    void fill(Game game) {
+        letterCount = game.letterCount;
+        lines = game.letters.length;
+        for (int line = 0; line < lines; line++) {
+            int row = line * letterCount;
+            System.arraycopy(game.letters[line], 0, letters, row, letterCount);
+            System.arraycopy(game.boxColors[line], 0, colors, row, letterCount);
+            System.arraycopy(game.isSolid[line], 0, solid, row, letterCount);
+            System.arraycopy(game.isFlipping[line], 0, flipping, row, letterCount);
+            for (int i = 0; i < letterCount; i++) {
+                flipProgress[row + i] = (float) game.flipProgress[line][i];
+            }
+        }
+
+        if (game.invalidWord) {
+            message = "Invalid word!";
+            messageColor = Color.RED;
+        } else if (game.hint != null) {
+            if (!game.hint.equals(hint)) {
+                hint = game.hint;
+                hintMessage = "Hint: " + hint;
+            }
+            message = hintMessage;
+            messageColor = Color.LIGHT_GRAY;
+        } else {
+            message = null;
+        }
+
+        keyboardVersion = GamePlay.keyboard.copyStatus(keyStatus);
+    }
+
+    public int letterCount() {
+        return letterCount;
+    }
+
+    public int lines() {
+        return lines;
+    }
+
+    public char letter(int line, int i) {
+        return letters[line * letterCount + i];
+    }
+
+    // Colour shown once the box has flipped, null before it has been scored
+    public Color color(int line, int i) {
+        return colors[line * letterCount + i];
+    }
+
+    public boolean isSolid(int line, int i) {
+        return solid[line * letterCount + i];
+    }
+
+    public boolean isFlipping(int line, int i) {
+        return flipping[line * letterCount + i];
+    }
+
+    public double flipProgress(int line, int i) {
+        return flipProgress[line * letterCount + i];
+    }
+
+    // The invalid word or hint message, or null if neither is showing
+    public String message() {
+        return message;
+    }
+
+    public Color messageColor() {
+        return messageColor;
+    }
+
+    // Status of a letter on the on-screen keyboard, see OnScreenKeyboard.get()
+    public char keyStatus(char letter) {
+        int index = letter - 'A';
+        return index >= 0 && index < 26 ? keyStatus[index] : OnScreenKeyboard.UNUSED;
+    }
+
+    // Changes whenever a key status changes, so the keyboard knows when to redraw
+    public int keyboardVersion() {
+        return keyboardVersion;
+    }
+}
@@ -0,0 +1,95 @@
+import java.util.Arrays;
+
+// The words of a Dictionary that are still possible answers in the current game.
+// Stored as a compact list of dictionary indices which only ever shrinks:
+// each guess filters the survivors of the previous one, so the cost of a
+// guess tracks the remaining candidates rather than the dictionary size.
+public class CandidateSet {
+    private final WordConstraints constraints = new WordConstraints(0);
+    private Dictionary dictionary;
+    private FeedbackMatrix matrix; // null unless a matrix has been generated for the dictionary
+    private int[] indices = new int[0];
+    private int size;
+
+    // Number of candidates left after each guess
+    private int[] history = new int[6];
+    private int guesses;
+
+    // Starts a new game, every word in the dictionary is a candidate again
+    public void reset(Dictionary dictionary) {
+        this.dictionary = dictionary;
+        this.matrix = FeedbackMatrix.get(dictionary);
+        if (indices.length < dictionary.size()) {
+            indices = new int[dictionary.size()];
+        }
+        for (int i = 0; i < dictionary.size(); i++) {
+            indices[i] = i;
+        }
+        size = dictionary.size();
+        guesses = 0;
+    }
+
+    // Removes every candidate that would not have produced pattern for guessCode
+    public void narrow(int guessCode, int pattern) {
+        int guessIndex = matrix != null ? dictionary.indexOf(guessCode) : -1;
+        int kept = 0;
+        if (guessIndex >= 0) {
+            // Precomputed patterns make this a row lookup
+            for (int i = 0; i < size; i++) {
+                int index = indices[i];
+                if (matrix.pattern(guessIndex, index) == pattern) {
+                    indices[kept++] = index;
+                }
+            }
+        } else {
+            constraints.reset(dictionary.letterCount());
+            constraints.addFeedback(guessCode, pattern);
+            for (int i = 0; i < size; i++) {
+                int index = indices[i];
+                if (constraints.matches(dictionary.codeAt(index))) {
+                    indices[kept++] = index;
+                }
+            }
+        }
+        size = kept;
+
+        if (guesses == history.length) {
+            history = Arrays.copyOf(history, guesses * 2);
+        }
+        history[guesses++] = size;
+    }
+
+    public Dictionary dictionary() {
+        return dictionary;
+    }
+
+    // The precomputed pattern table for the dictionary, or null if none is available
+    public FeedbackMatrix matrix() {
+        return matrix;
+    }
+
+    // Number of words still possible
+    public int size() {
+        return size;
+    }
+
+    // Dictionary index of the i-th remaining candidate
+    public int indexAt(int i) {
+        return indices[i];
+    }
+
+    // Packed code of the i-th remaining candidate
+    public int codeAt(int i) {
+        return dictionary.codeAt(indices[i]);
+    }
+
+    // Number of guesses applied since the last reset
+    public int guessCount() {
+        return guesses;
+    }
+
+    // Number of candidates that remained after the given guess (0 based)
+    public int sizeAfterGuess(int guess) {
+        return history[guess];
+    }
+}
@@ -0,0 +1,213 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// Read-only word list for a single word length.
+// Each word is packed into an int, 5 bits per letter with the first letter in
+// the lowest bits, and the codes are kept sorted so lookups are a binary search.
+// The codes are memory-mapped straight from Resources/<n>letter.dict, so
+// loading costs a single mmap instead of parsing and hashing every line.
+public class Dictionary {
+    static final int MAGIC = 0x57524446; // "WRDF"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 4 * Integer.BYTES;
+    static final int BITS_PER_LETTER = 5;
+    static final int LETTER_MASK = (1 << BITS_PER_LETTER) - 1;
+    static final int MAX_LETTERS = 6;
+
+    private final int letterCount;
+    private final IntBuffer codes;
+    private final int size;
+
+    private Dictionary(int letterCount, IntBuffer codes) {
+        this.letterCount = letterCount;
+        this.codes = codes;
+        this.size = codes.limit();
+    }
+
+    // Maps the binary dictionary for the given length, (re)compiling it from
+    // the text list first if it is missing or older than the text file.
+    public static Dictionary load(int letterCount) throws IOException {
+        if (letterCount < 1 || letterCount > MAX_LETTERS) {
+            throw new IllegalArgumentException("Unsupported word length: " + letterCount);
+        }
+
+        Path text = textPath(letterCount);
+        Path binary = binaryPath(letterCount);
+        if (isStale(text, binary)) {
+            try {
+                DictionaryCompiler.compile(text, binary, letterCount);
+            } catch (IOException e) {
+                // Resources may be read-only, fall back to an in-memory image of the text list
+                System.out.println("Warning: could not write " + binary + ", compiling in memory");
+                ByteBuffer image = DictionaryCompiler.toBuffer(DictionaryCompiler.readCodes(text, letterCount), letterCount);
+                return fromBuffer(image, letterCount);
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(binary, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return fromBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), letterCount);
+        }
+    }
+
+    // An empty dictionary, used when a word list cannot be loaded at all
+    public static Dictionary empty(int letterCount) {
+        return new Dictionary(letterCount, IntBuffer.allocate(0));
+    }
+
+    private static Dictionary fromBuffer(ByteBuffer buffer, int letterCount) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES
+                || buffer.getInt(0) != MAGIC
+                || buffer.getInt(4) != VERSION
+                || buffer.getInt(8) != letterCount) {
+            throw new IOException("Corrupt dictionary for " + letterCount + " letter words");
+        }
+        int wordCount = buffer.getInt(12);
+        if (buffer.capacity() != HEADER_BYTES + wordCount * Integer.BYTES) {
+            throw new IOException("Truncated dictionary for " + letterCount + " letter words");
+        }
+        buffer.position(HEADER_BYTES);
+        return new Dictionary(letterCount, buffer.slice().asIntBuffer());
+    }
+
+    private static boolean isStale(Path text, Path binary) throws IOException {
+        if (!Files.exists(binary)) {
+            return true;
+        }
+        return Files.exists(text) && Files.getLastModifiedTime(text).compareTo(Files.getLastModifiedTime(binary)) > 0;
+    }
+
+    static Path textPath(int letterCount) {
+        return Paths.get("Resources", letterCount + "letter.txt");
+    }
+
+    static Path binaryPath(int letterCount) {
+        return Paths.get("Resources", letterCount + "letter.dict");
+    }
+
+    //-------------------------------------------------------
+    // Lookups
+    //-------------------------------------------------------
+
+    public int letterCount() {
+        return letterCount;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Returns the packed code of the word at index
+    public int codeAt(int index) {
+        return codes.get(index);
+    }
+
+    // Returns the word at index as an upper case String
+    public String wordAt(int index) {
+        return decode(codes.get(index), letterCount);
+    }
+
+    // Returns the index of a packed code, or -1 if it is not a word
+    public int indexOf(int code) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = codes.get(mid);
+            if (value < code) {
+                low = mid + 1;
+            } else if (value > code) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public boolean containsCode(int code) {
+        return code >= 0 && indexOf(code) >= 0;
+    }
+
+    // Case-insensitive check that word is in the list
+    public boolean contains(CharSequence word) {
+        return word.length() == letterCount && containsCode(encode(word));
+    }
+
+    // Hash of the word list, used to check that derived files were built from this exact list
+    public int checksum() {
+        int hash = letterCount;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + codes.get(i);
+        }
+        return hash;
+    }
+
+    // Approximate bytes held on the heap by this dictionary, the codes themselves live in the mapping
+    public long heapBytes() {
+        return codes.isDirect() ? 64 : 64 + (long) size * Integer.BYTES;
+    }
+
+    // Bytes of word codes held in a memory-mapped file
+    public long mappedBytes() {
+        return codes.isDirect() ? (long) size * Integer.BYTES : 0;
+    }
+
+    //-------------------------------------------------------
+    // Word encoding
+    //-------------------------------------------------------
+
+    // Packs a word into an int, returns -1 if it contains anything other than letters
+    public static int encode(CharSequence word) {
+        int length = word.length();
+        if (length > MAX_LETTERS) {
+            return -1;
+        }
+        int code = 0;
+        for (int i = 0; i < length; i++) {
+            int letter = Character.toUpperCase(word.charAt(i)) - 'A';
+            if (letter < 0 || letter >= 26) {
+                return -1;
+            }
+            code |= letter << (i * BITS_PER_LETTER);
+        }
+        return code;
+    }
+
+    // Packs the first letterCount characters of a char array
+    public static int encode(char[] word, int letterCount) {
+        int code = 0;
+        for (int i = 0; i < letterCount; i++) {
+            int letter = Character.toUpperCase(word[i]) - 'A';
+            if (letter < 0 || letter >= 26) {
+                return -1;
+            }
+            code |= letter << (i * BITS_PER_LETTER);
+        }
+        return code;
+    }
+
+    // Returns the letter (0-25) at position in a packed word
+    public static int letterAt(int code, int position) {
+        return (code >>> (position * BITS_PER_LETTER)) & LETTER_MASK;
+    }
+
+    // Unpacks a word back into an upper case String
+    public static String decode(int code, int letterCount) {
+        char[] chars = new char[letterCount];
+        for (int i = 0; i < letterCount; i++) {
+            chars[i] = (char) ('A' + letterAt(code, i));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,99 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Converts the Resources/<n>letter.txt word lists into the packed binary
+// format read by Dictionary. The text files stay the source of truth, the
+// .dict files can always be regenerated from them.
+//
+// Layout (big endian):
+//   int magic, int version, int letterCount, int wordCount
+//   int code[wordCount]   sorted ascending, see Dictionary.encode
+public class DictionaryCompiler {
+
+    public static void main(String[] args) throws IOException {
+        int[] lengths = {4, 5, 6};
+        if (args.length > 0) {
+            lengths = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                lengths[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        for (int length : lengths) {
+            Path source = Dictionary.textPath(length);
+            Path target = Dictionary.binaryPath(length);
+            int wordCount = compile(source, target, length);
+            System.out.println("Compiled " + source + " -> " + target + " (" + wordCount + " words)");
+        }
+    }
+
+    // Reads the text list and writes the binary dictionary, returns the number of words written
+    static int compile(Path source, Path target, int letterCount) throws IOException {
+        int[] codes = readCodes(source, letterCount);
+        ByteBuffer buffer = toBuffer(codes, letterCount);
+
+        // Write to a temporary file first so a running game never maps a half written file
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        return codes.length;
+    }
+
+    // Parses a text word list into sorted, de-duplicated packed codes.
+    // Lines that are not exactly letterCount letters are skipped.
+    static int[] readCodes(Path source, int letterCount) throws IOException {
+        int[] codes = new int[1024];
+        int count = 0;
+        try (BufferedReader br = Files.newBufferedReader(source, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (line.length() != letterCount) {
+                    continue;
+                }
+                int code = Dictionary.encode(line);
+                if (code < 0) {
+                    continue;
+                }
+                if (count == codes.length) {
+                    codes = Arrays.copyOf(codes, count * 2);
+                }
+                codes[count++] = code;
+            }
+        }
+
+        Arrays.sort(codes, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || codes[unique - 1] != codes[i]) {
+                codes[unique++] = codes[i];
+            }
+        }
+        return Arrays.copyOf(codes, unique);
+    }
+
+    // Builds the full binary image (header and codes) ready for writing or wrapping
+    static ByteBuffer toBuffer(int[] codes, int letterCount) {
+        ByteBuffer buffer = ByteBuffer.allocate(Dictionary.HEADER_BYTES + codes.length * Integer.BYTES);
+        buffer.putInt(Dictionary.MAGIC);
+        buffer.putInt(Dictionary.VERSION);
+        buffer.putInt(letterCount);
+        buffer.putInt(codes.length);
+        buffer.asIntBuffer().put(codes);
+        buffer.rewind();
+        return buffer;
+    }
+}
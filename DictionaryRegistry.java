@@ -0,0 +1,100 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps one loaded Dictionary per word length for the life of the program.
+// Dictionaries are immutable, so every game of the same length shares the
+// same instance and restarting a game never touches the disk again.
+public class DictionaryRegistry {
+    private static final ConcurrentMap<Integer, Dictionary> dictionaries = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Integer, Long> loadTimes = new ConcurrentHashMap<>();
+    private static final AtomicInteger loads = new AtomicInteger();
+    private static final AtomicInteger requests = new AtomicInteger();
+    private static final AtomicLong totalLoadNanos = new AtomicLong();
+
+    private DictionaryRegistry() {}
+
+    // Returns the dictionary for the given length, loading it on first use
+    public static Dictionary get(int letterCount) throws IOException {
+        requests.incrementAndGet();
+        Dictionary dictionary = dictionaries.get(letterCount);
+        if (dictionary != null) {
+            return dictionary;
+        }
+
+        try {
+            return dictionaries.computeIfAbsent(letterCount, DictionaryRegistry::loadUnchecked);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Dictionary loadUnchecked(int letterCount) {
+        long start = System.nanoTime();
+        try {
+            Dictionary dictionary = Dictionary.load(letterCount);
+            long elapsed = System.nanoTime() - start;
+            loadTimes.put(letterCount, elapsed);
+            totalLoadNanos.addAndGet(elapsed);
+            loads.incrementAndGet();
+            return dictionary;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //-------------------------------------------------------
+    // Metrics
+    //-------------------------------------------------------
+
+    // Number of times a dictionary was actually read from disk
+    public static int loadCount() {
+        return loads.get();
+    }
+
+    // Number of calls to get(), including the ones served from the cache
+    public static int requestCount() {
+        return requests.get();
+    }
+
+    // Time taken to load the given length in nanoseconds, or -1 if it has not been loaded
+    public static long loadTimeNanos(int letterCount) {
+        return loadTimes.getOrDefault(letterCount, -1L);
+    }
+
+    public static long totalLoadTimeNanos() {
+        return totalLoadNanos.get();
+    }
+
+    // Approximate heap held by all loaded dictionaries
+    public static long heapBytes() {
+        long bytes = 0;
+        for (Dictionary dictionary : dictionaries.values()) {
+            bytes += dictionary.heapBytes();
+        }
+        return bytes;
+    }
+
+    // Bytes of word data held in memory-mapped files
+    public static long mappedBytes() {
+        long bytes = 0;
+        for (Dictionary dictionary : dictionaries.values()) {
+            bytes += dictionary.mappedBytes();
+        }
+        return bytes;
+    }
+
+    // One line summary, e.g. for logging after a restart
+    public static String describe() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Dictionaries: ").append(dictionaries.size()).append(" resident, ")
+          .append(loads.get()).append(" loads / ").append(requests.get()).append(" requests, ")
+          .append(String.format("%.2f ms", totalLoadNanos.get() / 1e6)).append(" loading, ")
+          .append(heapBytes()).append(" B heap, ")
+          .append(mappedBytes()).append(" B mapped");
+        return sb.toString();
+    }
+}
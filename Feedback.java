@@ -0,0 +1,87 @@
+// The colours for one guess packed into an int as a base 3 number, one digit
+// per position with position 0 as the least significant digit.
+public class Feedback {
+    public static final int ABSENT = 0;  // grey
+    public static final int PRESENT = 1; // yellow
+    public static final int CORRECT = 2; // green
+
+    private static final int[] POWERS = {1, 3, 9, 27, 81, 243, 729};
+
+    // Base 3 pattern for every (green positions, yellow positions) bitmask pair
+    private static final int[] MASKS_TO_PATTERN = new int[1 << (2 * Dictionary.MAX_LETTERS)];
+
+    static {
+        for (int greens = 0; greens < (1 << Dictionary.MAX_LETTERS); greens++) {
+            for (int yellows = 0; yellows < (1 << Dictionary.MAX_LETTERS); yellows++) {
+                int pattern = 0;
+                for (int i = 0; i < Dictionary.MAX_LETTERS; i++) {
+                    if ((greens & (1 << i)) != 0) {
+                        pattern += CORRECT * POWERS[i];
+                    } else if ((yellows & (1 << i)) != 0) {
+                        pattern += PRESENT * POWERS[i];
+                    }
+                }
+                MASKS_TO_PATTERN[(greens << Dictionary.MAX_LETTERS) | yellows] = pattern;
+            }
+        }
+    }
+
+    private Feedback() {}
+
+    // Scores guess against answer (both packed Dictionary codes) the same way
+    // the board colours a line: greens first, then yellows for each remaining
+    // copy of a letter, left to right. Allocation free.
+    public static int score(int guess, int answer, int letterCount) {
+        int greens = 0;
+        int unmatched = 0; // letters of the answer not already matched by a green
+        for (int i = 0; i < letterCount; i++) {
+            int shift = i * Dictionary.BITS_PER_LETTER;
+            int answerLetter = (answer >>> shift) & Dictionary.LETTER_MASK;
+            if (((guess >>> shift) & Dictionary.LETTER_MASK) == answerLetter) {
+                greens |= 1 << i;
+            } else {
+                unmatched |= 1 << answerLetter;
+            }
+        }
+
+        int yellows = 0;
+        if (unmatched != 0) {
+            int used = greens; // answer positions already accounted for
+            for (int i = 0; i < letterCount; i++) {
+                int letter = (guess >>> (i * Dictionary.BITS_PER_LETTER)) & Dictionary.LETTER_MASK;
+                // Most letters are not in the answer at all, skip the scan for those
+                if ((greens & (1 << i)) != 0 || (unmatched & (1 << letter)) == 0) {
+                    continue;
+                }
+                for (int j = 0; j < letterCount; j++) {
+                    if ((used & (1 << j)) == 0 && ((answer >>> (j * Dictionary.BITS_PER_LETTER)) & Dictionary.LETTER_MASK) == letter) {
+                        used |= 1 << j;
+                        yellows |= 1 << i;
+                        break;
+                    }
+                }
+            }
+        }
+        return MASKS_TO_PATTERN[(greens << Dictionary.MAX_LETTERS) | yellows];
+    }
+
+    // Returns the mark (ABSENT, PRESENT or CORRECT) at position
+    public static int digit(int pattern, int position) {
+        return (pattern / POWERS[position]) % 3;
+    }
+
+    // Returns pattern with mark added at position, the position must still be ABSENT
+    public static int withDigit(int pattern, int position, int mark) {
+        return pattern + mark * POWERS[position];
+    }
+
+    // Number of distinct patterns for a word length
+    public static int patternCount(int letterCount) {
+        return POWERS[letterCount];
+    }
+
+    // The all green pattern for a word length
+    public static int solved(int letterCount) {
+        return POWERS[letterCount] - 1;
+    }
+}
@@ -0,0 +1,178 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.IntStream;
+
+// Precomputed Feedback.score for every (guess, answer) pair of a dictionary,
+// stored in Resources/<n>letter.matrix and memory-mapped so the table lives
+// off-heap and is only paged in as it is read. Row = guess index, column =
+// answer index, both indices into the Dictionary.
+//
+// Cells are one byte for words of up to 5 letters (3^5 = 243 patterns) and two
+// bytes for 6 letter words, which have 729 possible patterns.
+//
+// Layout (big endian):
+//   int magic, int version, int letterCount, int wordCount, int cellBytes, int checksum
+//   cell[wordCount * wordCount]
+//
+// Generate with: java FeedbackMatrix [lengths...]
+public class FeedbackMatrix {
+    static final int MAGIC = 0x57524D58; // "WRMX"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 6 * Integer.BYTES;
+
+    private static final ConcurrentMap<Integer, Optional<FeedbackMatrix>> matrices = new ConcurrentHashMap<>();
+
+    private final ByteBuffer cells;
+    private final int wordCount;
+    private final int cellBytes;
+
+    private FeedbackMatrix(ByteBuffer cells, int wordCount, int cellBytes) {
+        this.cells = cells;
+        this.wordCount = wordCount;
+        this.cellBytes = cellBytes;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[] lengths = {4, 5, 6};
+        if (args.length > 0) {
+            lengths = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                lengths[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        for (int length : lengths) {
+            Dictionary dictionary = DictionaryRegistry.get(length);
+            long start = System.nanoTime();
+            generate(dictionary, path(length));
+            System.out.printf("Generated %s: %d x %d cells in %.1f s%n", path(length), dictionary.size(),
+                    dictionary.size(), (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    // Returns the matrix for a dictionary, mapping it on first use.
+    // Returns null if no up to date matrix file has been generated.
+    public static FeedbackMatrix get(Dictionary dictionary) {
+        return matrices.computeIfAbsent(dictionary.letterCount(), length -> {
+            try {
+                return Optional.ofNullable(open(dictionary, path(length)));
+            } catch (IOException e) {
+                System.out.println("Warning: could not map " + path(length) + ": " + e.getMessage());
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    static Path path(int letterCount) {
+        return Paths.get("Resources", letterCount + "letter.matrix");
+    }
+
+    static int cellBytes(int letterCount) {
+        return Feedback.patternCount(letterCount) <= 256 ? 1 : 2;
+    }
+
+    // Maps a matrix file, returns null if it is missing or was generated for
+    // another word list
+    static FeedbackMatrix open(Dictionary dictionary, Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("matrix is too large to map");
+            }
+            if (channel.size() < HEADER_BYTES) {
+                // Empty or cut short, e.g. by an interrupted copy
+                throw new IOException("matrix is truncated");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int wordCount = buffer.getInt(12);
+            int cellBytes = buffer.getInt(16);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getInt(8) != dictionary.letterCount()
+                    || wordCount != dictionary.size()
+                    || buffer.getInt(20) != dictionary.checksum()) {
+                // Generated from a different word list, ignore it until regenerated
+                System.out.println("Warning: " + file + " is out of date, regenerate it with FeedbackMatrix");
+                return null;
+            }
+            if (buffer.capacity() != HEADER_BYTES + (long) wordCount * wordCount * cellBytes) {
+                throw new IOException("matrix is truncated");
+            }
+            buffer.position(HEADER_BYTES);
+            return new FeedbackMatrix(buffer.slice(), wordCount, cellBytes);
+        }
+    }
+
+    // Computes every cell on all cores and writes the matrix file
+    static void generate(Dictionary dictionary, Path file) throws IOException {
+        int wordCount = dictionary.size();
+        int letterCount = dictionary.letterCount();
+        int cellBytes = cellBytes(letterCount);
+        long size = HEADER_BYTES + (long) wordCount * wordCount * cellBytes;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("matrix for " + letterCount + " letter words is too large to map");
+        }
+
+        int[] codes = new int[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            codes[i] = dictionary.codeAt(i);
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, letterCount);
+            buffer.putInt(12, wordCount);
+            buffer.putInt(16, cellBytes);
+            buffer.putInt(20, dictionary.checksum());
+
+            // Rows are independent, each worker fills a row locally then copies it in one go
+            ThreadLocal<byte[]> rows = ThreadLocal.withInitial(() -> new byte[wordCount * cellBytes]);
+            IntStream.range(0, wordCount).parallel().forEach(guess -> {
+                byte[] row = rows.get();
+                int guessCode = codes[guess];
+                for (int answer = 0; answer < wordCount; answer++) {
+                    int pattern = Feedback.score(guessCode, codes[answer], letterCount);
+                    if (cellBytes == 1) {
+                        row[answer] = (byte) pattern;
+                    } else {
+                        row[2 * answer] = (byte) (pattern >>> 8);
+                        row[2 * answer + 1] = (byte) pattern;
+                    }
+                }
+                buffer.put(HEADER_BYTES + guess * wordCount * cellBytes, row);
+            });
+            buffer.force();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        matrices.remove(letterCount);
+    }
+
+    public int wordCount() {
+        return wordCount;
+    }
+
+    // Feedback pattern for guessing the word at guessIndex when the answer is at answerIndex
+    public int pattern(int guessIndex, int answerIndex) {
+        int cell = guessIndex * wordCount + answerIndex;
+        if (cellBytes == 1) {
+            return cells.get(cell) & 0xFF;
+        }
+        return cells.getShort(2 * cell) & 0xFFFF;
+    }
+}
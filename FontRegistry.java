@@ -0,0 +1,81 @@
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.util.HashMap;
+import java.util.Map;
+
+// Fonts by (name, style, size), created once and shared, together with their
+// metrics and the widths of recently measured strings. Text drawn every frame
+// with the same few fonts and labels then costs no Font, metrics or string
+// layout allocations.
+public class FontRegistry {
+    private static final int MAX_SIZE = 256;
+    private static final int WIDTH_SLOTS = 64; // per font, direct mapped by string hash
+
+    private static class Entry {
+        final Font font;
+        FontMetrics metrics;
+        final String[] measured = new String[WIDTH_SLOTS];
+        final int[] widths = new int[WIDTH_SLOTS];
+
+        Entry(Font font) {
+            this.font = font;
+        }
+    }
+
+    // Entries for each font name, indexed by style * MAX_SIZE + size
+    private final Map<String, Entry[]> fonts = new HashMap<>();
+    private final Map<Font, Entry> byFont = new HashMap<>();
+
+    public Font font(String name, int style, int size) {
+        return entry(name, style, size).font;
+    }
+
+    // Metrics of a font, measured with the rendering settings of graphics the first time
+    public FontMetrics metrics(Font font, Graphics2D graphics) {
+        Entry entry = entry(font);
+        if (entry.metrics == null) {
+            entry.metrics = graphics.getFontMetrics(font);
+        }
+        return entry.metrics;
+    }
+
+    // Width of text in font, remembering the widths of the last few strings measured
+    public int stringWidth(Font font, String text, Graphics2D graphics) {
+        Entry entry = entry(font);
+        int slot = text.hashCode() & (WIDTH_SLOTS - 1);
+        String measured = entry.measured[slot];
+        if (measured != text && !text.equals(measured)) {
+            entry.widths[slot] = metrics(font, graphics).stringWidth(text);
+            entry.measured[slot] = text;
+        }
+        return entry.widths[slot];
+    }
+
+    private Entry entry(String name, int style, int size) {
+        if (style < 0 || style > (Font.BOLD | Font.ITALIC) || size <= 0 || size >= MAX_SIZE) {
+            // Not worth a slot, but still shared through the font map
+            return entry(new Font(name, style, size));
+        }
+
+        Entry[] entries = fonts.get(name);
+        if (entries == null) {
+            entries = new Entry[4 * MAX_SIZE];
+            fonts.put(name, entries);
+        }
+        int slot = style * MAX_SIZE + size;
+        if (entries[slot] == null) {
+            entries[slot] = entry(new Font(name, style, size));
+        }
+        return entries[slot];
+    }
+
+    private Entry entry(Font font) {
+        Entry entry = byFont.get(font);
+        if (entry == null) {
+            entry = new Entry(font);
+            byFont.put(font, entry);
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,274 @@
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-frame timings recorded by GameEngine: how long update, paint and
+// present took, the time between frames, and the bytes allocated while
+// updating and painting. Samples go into fixed size ring buffers written by
+// the game loop thread only; readers (the overlay, automated perf tests) can
+// query them from any thread without locking.
+//
+// Input latency is kept separately, one sample per frame that shows the
+// result of new input: the time from the oldest such input arriving to the
+// frame being drawn and presented.
+public class FrameStats {
+    public enum Phase { UPDATE, PAINT, PRESENT, FRAME, ALLOCATED }
+
+    // Percentiles over the frames currently held in the buffer
+    public static class Summary {
+        public final int count;
+        public final double p50, p95, p99, max, mean;
+
+        Summary(int count, double p50, double p95, double p99, double max, double mean) {
+            this.count = count;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+            this.mean = mean;
+        }
+    }
+
+    private static final com.sun.management.ThreadMXBean threads = threadBean();
+
+    private final int mask;
+    private final long[][] samples;
+    private final long[] timestamps;
+    private final AtomicLong frames = new AtomicLong();
+    private final long[] latencies;
+    private final AtomicLong inputs = new AtomicLong();
+
+    // The overlay's lines and the numbers they show, rounded as they are
+    // printed, so the lines are only rebuilt when what they say changes
+    private static final Phase[] OVERLAY_PHASES = {Phase.UPDATE, Phase.PAINT, Phase.PRESENT, Phase.FRAME};
+    private static final double[] P50_MAX = {0.50, 1};
+    private static final double[] P50_TO_MAX = {0.50, 0.95, 0.99, 1};
+    private final long[] overlaySamples;
+    private final double[] overlayValues = new double[6 + 4 * OVERLAY_PHASES.length];
+    private final long[] overlayShown = new long[overlayValues.length];
+    private String[] overlayText;
+
+    public FrameStats() {
+        this(512);
+    }
+
+    // capacity is rounded up to a power of two
+    public FrameStats(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        mask = size - 1;
+        samples = new long[Phase.values().length][size];
+        timestamps = new long[size];
+        latencies = new long[size];
+        overlaySamples = new long[size];
+    }
+
+    // Records one frame, times in nanoseconds. Must only be called from one thread.
+    public void record(long update, long paint, long present, long frame, long allocated) {
+        long n = frames.get();
+        int slot = (int) (n & mask);
+        samples[Phase.UPDATE.ordinal()][slot] = update;
+        samples[Phase.PAINT.ordinal()][slot] = paint;
+        samples[Phase.PRESENT.ordinal()][slot] = present;
+        samples[Phase.FRAME.ordinal()][slot] = frame;
+        samples[Phase.ALLOCATED.ordinal()][slot] = allocated;
+        timestamps[slot] = System.nanoTime();
+
+        // Publish the slot after it has been written
+        frames.lazySet(n + 1);
+    }
+
+    // Records the input-to-frame latency of one input in nanoseconds.
+    // Must only be called from the thread calling record().
+    public void recordInputLatency(long latency) {
+        long n = inputs.get();
+        latencies[(int) (n & mask)] = latency;
+        inputs.lazySet(n + 1);
+    }
+
+    // Total number of input latencies recorded
+    public long inputCount() {
+        return inputs.get();
+    }
+
+    // Total number of frames recorded
+    public long frameCount() {
+        return frames.get();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    // Copies the most recent samples of a phase, oldest first, into dest and
+    // returns how many were copied. Allocation free, used to draw graphs.
+    public int copyRecent(Phase phase, long[] dest) {
+        long end = frames.get();
+        int count = (int) Math.min(Math.min(end, capacity()), dest.length);
+        long[] values = samples[phase.ordinal()];
+        for (int i = 0; i < count; i++) {
+            dest[i] = values[(int) ((end - count + i) & mask)];
+        }
+
+        // If the writer lapped us part way through, the oldest copies may be newer frames
+        long overwritten = frames.get() - capacity() - (end - count);
+        if (overwritten > 0) {
+            int stale = (int) Math.min(overwritten, count);
+            System.arraycopy(dest, stale, dest, 0, count - stale);
+            count -= stale;
+        }
+        return count;
+    }
+
+    // Percentiles of a phase over the buffered frames. Times are in
+    // milliseconds, ALLOCATED is in bytes.
+    public Summary summary(Phase phase) {
+        long[] values = new long[capacity()];
+        int count = copyRecent(phase, values);
+        return summarize(values, count, phase == Phase.ALLOCATED ? 1 : 1e-6);
+    }
+
+    // Percentiles of the buffered input latencies in milliseconds
+    public Summary inputLatency() {
+        long[] values = new long[capacity()];
+        return summarize(values, copyLatencies(values), 1e-6);
+    }
+
+    // Copies the buffered input latencies, oldest first, and returns how many there are
+    private int copyLatencies(long[] dest) {
+        long end = inputs.get();
+        int count = (int) Math.min(end, capacity());
+        for (int i = 0; i < count; i++) {
+            dest[i] = latencies[(int) ((end - count + i) & mask)];
+        }
+        return count;
+    }
+
+    private static Summary summarize(long[] values, int count, double scale) {
+        if (count == 0) {
+            return new Summary(0, 0, 0, 0, 0, 0);
+        }
+
+        Arrays.sort(values, 0, count);
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += values[i];
+        }
+        return new Summary(count,
+                values[percentileIndex(count, 0.50)] * scale,
+                values[percentileIndex(count, 0.95)] * scale,
+                values[percentileIndex(count, 0.99)] * scale,
+                values[count - 1] * scale,
+                sum / count * scale);
+    }
+
+    // Text of the performance overlay: fps, allocation and input latency,
+    // then the percentiles of each phase. Returns the same array until one of
+    // the numbers in it changes. Must only be called from one thread.
+    public String[] overlayText() {
+        double[] v = overlayValues;
+        v[0] = fps();
+        v[1] = allocationRate() / 1e6;
+        percentiles(overlaySamples, copyRecent(Phase.ALLOCATED, overlaySamples), 1, P50_MAX, v, 2);
+        percentiles(overlaySamples, copyLatencies(overlaySamples), 1e-6, P50_MAX, v, 4);
+        for (int i = 0; i < OVERLAY_PHASES.length; i++) {
+            percentiles(overlaySamples, copyRecent(OVERLAY_PHASES[i], overlaySamples), 1e-6, P50_TO_MAX, v, 6 + 4 * i);
+        }
+
+        // fps and bytes are shown whole, MB/s to 0.01 and times to 0.1 ms
+        boolean changed = overlayText == null;
+        for (int i = 0; i < v.length; i++) {
+            double precision = i == 1 ? 100 : i >= 4 ? 10 : 1;
+            long shown = Math.round(v[i] * precision);
+            changed |= shown != overlayShown[i];
+            overlayShown[i] = shown;
+        }
+        if (!changed) {
+            return overlayText;
+        }
+
+        overlayText = new String[] {
+            String.format("%d fps  %.2f MB/s alloc", (int) v[0], v[1]),
+            String.format("alloc/frame p50 %.0f B  max %.0f B", v[2], v[3]),
+            String.format("input->frame p50 %.1f  max %.1f ms", v[4], v[5]),
+            "ms       p50   p95   p99   max",
+            overlayLine("update", v, 6),
+            overlayLine("paint", v, 10),
+            overlayLine("present", v, 14),
+            overlayLine("frame", v, 18),
+        };
+        return overlayText;
+    }
+
+    private static String overlayLine(String name, double[] v, int at) {
+        return String.format("%-7s %5.1f %5.1f %5.1f %5.1f", name, v[at], v[at + 1], v[at + 2], v[at + 3]);
+    }
+
+    // Sorts the first count values in place and writes the given percentiles
+    // of them to out from index at, 1 being the largest value
+    private static void percentiles(long[] values, int count, double scale, double[] points, double[] out, int at) {
+        Arrays.sort(values, 0, count);
+        for (int i = 0; i < points.length; i++) {
+            out[at + i] = count == 0 ? 0 : values[percentileIndex(count, points[i])] * scale;
+        }
+    }
+
+    private static int percentileIndex(int count, double percentile) {
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return Math.max(0, Math.min(count - 1, index));
+    }
+
+    // Frames recorded during the last second
+    public int fps() {
+        long end = frames.get();
+        long now = System.nanoTime();
+        int count = 0;
+        for (long n = end - 1; n >= 0 && n >= end - capacity(); n--) {
+            if (now - timestamps[(int) (n & mask)] > 1_000_000_000L) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    // Bytes allocated per second by the game loop, averaged over the buffered frames
+    public double allocationRate() {
+        long end = frames.get();
+        int count = (int) Math.min(end, capacity());
+        if (count < 2) {
+            return 0;
+        }
+        long bytes = 0;
+        long[] allocated = samples[Phase.ALLOCATED.ordinal()];
+        for (int i = 1; i < count; i++) {
+            bytes += allocated[(int) ((end - i) & mask)];
+        }
+        long elapsed = timestamps[(int) ((end - 1) & mask)] - timestamps[(int) ((end - count) & mask)];
+        return elapsed <= 0 ? 0 : bytes * 1e9 / elapsed;
+    }
+
+    //-------------------------------------------------------
+    // Allocation tracking
+    //-------------------------------------------------------
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                if (sunBean.isThreadAllocatedMemorySupported()) {
+                    sunBean.setThreadAllocatedMemoryEnabled(true);
+                    return sunBean;
+                }
+            }
+        } catch (RuntimeException | LinkageError e) {
+            // Allocation tracking is optional
+        }
+        return null;
+    }
+
+    // Bytes allocated so far by the calling thread, or 0 if the JVM cannot tell us
+    public static long threadAllocatedBytes() {
+        return threads == null ? 0 : threads.getCurrentThreadAllocatedBytes();
+    }
+}
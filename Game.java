@@ -1,12 +1,8 @@
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
-import java.util.List;
-import javax.swing.Timer;
 
 public class Game extends GameEngine {
     int letterCount = 5;
@@ -17,55 +13,101 @@ public class Game extends GameEngine {
     double[][] flipProgress;
     char[][] letters;
     Color[][] boxColors;
+    volatile BoardSnapshot board; // what GamePlay.drawGame draws, see publishBoard()
+    private final BoardSnapshot[] boards = {new BoardSnapshot(), new BoardSnapshot()};
     String targetWord;
+    int targetCode;
     boolean gameOver = false;
     boolean isFlippingInProgress = false;
     boolean invalidWord = false;
-    Font font = new Font("Arial", Font.BOLD, 40);
-    Set<String> allowableWords = new HashSet<>();
+    String hint;
+    HintEngine.Request hintRequest;
+    Font font = getFont("Arial", Font.BOLD, 40);
+    TileCache tiles = new TileCache((int) GamePlay.BOX_SIZE, font, Color.WHITE, Color.BLACK);
+    Dictionary allowableWords = Dictionary.empty(letterCount);
+    CandidateSet candidates = new CandidateSet();
+    SoundBank sounds = new SoundBank();
+    volatile int flipSound = -1;
+    MusicStream music = new MusicStream("Resources/Sounds/background.wav");
     private GameState gameState = GameState.MENU;
-    private Timer gameOverTimer;
-    List<Integer> remainingOptionsAfterEachGuess = new ArrayList<>();
-    Map<Rectangle, Character> keyBounds = new HashMap<>(); // Store key bounds and their characters
 
     private enum GameState { MENU, PLAYING, GAME_OVER }
 
     public static void main(String[] args) {
-        createGame(new Game());
+        Game game = new Game();
+
+        // -Dwordle.seed=<n> replays the same sequence of target words
+        Long seed = Long.getLong("wordle.seed");
+        if (seed != null) {
+            game.setRandomSeed(seed);
+        }
+
+        // -Dwordle.activeRendering=true renders on a dedicated thread at -Dwordle.fps frames a second
+        boolean activeRendering = Boolean.getBoolean("wordle.activeRendering");
+        createGame(game, Integer.getInteger("wordle.fps", activeRendering ? 60 : 30), activeRendering);
     }
 
     @Override
     public void init() {
         setWindowSize(500, 700);
-        loadAllowableWords(letterCount);
+        AssetManager.sound("Resources/Sounds/cardFlip.wav").thenAccept(clip -> flipSound = sounds.load(clip, 4));
+
+        // -Dwordle.music=true plays the background track, streamed from disk
+        if (Boolean.getBoolean("wordle.music")) {
+            music.setVolume(-10);
+            music.start();
+        }
         Menu.init(this);
+
+        // -Dwordle.assetReport=true prints how long each asset took once they have all loaded
+        if (Boolean.getBoolean("wordle.assetReport")) {
+            AssetManager.whenLoaded().thenRun(() -> {
+                double firstFrame = timeToFirstFrame();
+                System.out.println(AssetManager.describe() + (firstFrame < 0
+                        ? String.format("%nNo frame shown yet")
+                        : String.format("%nFirst frame after %.1f ms", firstFrame)));
+            });
+        }
     }
 
     private void loadAllowableWords(int length) {
-        allowableWords.clear();
-        String fileName = "Resources/" + length + "letter.txt";
-        try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                allowableWords.add(line.toUpperCase().trim());
-            }
+        try {
+            allowableWords = DictionaryRegistry.get(length);
         } catch (IOException e) {
             e.printStackTrace();
+            allowableWords = Dictionary.empty(length);
         }
     }
 
     private void chooseRandomTargetWord() {
-        int index = new Random().nextInt(allowableWords.size());
-        targetWord = new ArrayList<>(allowableWords).get(index);
+        int index = rand(allowableWords.size());
+        targetCode = allowableWords.codeAt(index);
+        targetWord = allowableWords.wordAt(index);
     }
 
     @Override
     public void update(double dt) {
+        // Flips and the move to the game over screen run on the scheduler
         if (gameState == GameState.MENU) {
             Menu.update(this, dt);
-        } else if (gameState == GameState.PLAYING) {
-            GamePlay.updateFlipping(this, dt);
         }
+
+        if (gameState == GameState.PLAYING) {
+            pollHint();
+        }
+
+        // Anything that changes the board marks it dirty, so only then is there a new board to draw
+        if (gameState == GameState.PLAYING && (board == null || isDirty())) {
+            publishBoard();
+        }
+    }
+
+    // Hands the renderer a copy of the board as it is now, filled into the
+    // snapshot not on screen. Must be called on the update thread.
+    void publishBoard() {
+        BoardSnapshot back = board == boards[0] ? boards[1] : boards[0];
+        back.fill(this);
+        board = back;
     }
 
     @Override
@@ -103,11 +145,12 @@ public class Game extends GameEngine {
 
             if (event.getKeyCode() == KeyEvent.VK_ESCAPE) {
                 gameState = GameState.MENU;
+                markDirty();
             }
         }
     }
     public void mouseClicked(MouseEvent event) {
-        if (gameState == GameState.PLAYING && !isFlippingInProgress) {
+        if (gameState == GameState.PLAYING) {
             GamePlay.handleMouseClick(this, event);
         }
     }
@@ -130,9 +173,8 @@ public class Game extends GameEngine {
     }
 
     private void startGame() {
-        if (gameOverTimer != null) {
-            gameOverTimer.stop();
-        }
+        // Drop what is left of the previous game's flips and game over
+        scheduler().cancelAll();
 
         currentLine = 0;
         currentBox = 0;
@@ -145,10 +187,13 @@ public class Game extends GameEngine {
         letters = new char[6][letterCount];
         boxColors = new Color[6][letterCount];
         GamePlay.keyboard.clear();
+        GamePlay.clearHeldKeys();
+        cancelHint();
         loadAllowableWords(letterCount);
         chooseRandomTargetWord();
+        candidates.reset(allowableWords);
         gameState = GameState.PLAYING;
-        remainingOptionsAfterEachGuess.clear();
+        markDirty();
     }
 
     private void handleGameOverKeyPress(KeyEvent event) {
@@ -156,126 +201,79 @@ public class Game extends GameEngine {
             startGame();
         } else if (event.getKeyCode() == KeyEvent.VK_M) {
             gameState = GameState.MENU;
+            markDirty();
         }
     }
 
-    void determineBoxColors() {
-        String inputWord = new String(letters[currentLine]);
-        int[] targetLetterCounts = new int[26];
-        int[] inputLetterCounts = new int[26];
+    // Starts looking for the most informative next guess in the background
+    void requestHint() {
+        cancelHint();
+        hint = "...";
+        GamePlay.markMessageDirty(this);
+        hintRequest = HintEngine.suggest(candidates);
+    }
 
-        for (char c : targetWord.toCharArray()) {
-            targetLetterCounts[c - 'A']++;
+    // Shows the hint once the search has finished, checked on every update so
+    // the hint is only ever touched on the update thread
+    private void pollHint() {
+        if (hintRequest != null && hintRequest.isDone()) {
+            // Nothing to suggest if the search failed
+            int best = hintRequest.bestIndex();
+            hint = best >= 0 ? allowableWords.wordAt(best) : null;
+            GamePlay.markMessageDirty(this);
+            hintRequest = null;
         }
+    }
 
-        for (int i = 0; i < letterCount; i++) {
-            char inputChar = letters[currentLine][i];
-            if (inputChar == targetWord.charAt(i)) {
-                boxColors[currentLine][i] = Color.GREEN;
-                targetLetterCounts[inputChar - 'A']--;
-                inputLetterCounts[inputChar - 'A']++;
-                GamePlay.keyboard.put(inputChar, 'G');
-            }
-        }
-
-        for (int i = 0; i < letterCount; i++) {
-            if (boxColors[currentLine][i] != null) {
-                continue;
-            }
-
-            char inputChar = letters[currentLine][i];
-            if (targetLetterCounts[inputChar - 'A'] > 0) {
-                boxColors[currentLine][i] = Color.YELLOW;
-                targetLetterCounts[inputChar - 'A']--;
-                inputLetterCounts[inputChar - 'A']++;
-                if (GamePlay.keyboard.getOrDefault(inputChar, 'U') != 'G') {
-                    GamePlay.keyboard.put(inputChar, 'Y');
-                }
-            } else {
-                boxColors[currentLine][i] = Color.GRAY;
-                if (!GamePlay.keyboard.containsKey(inputChar) || GamePlay.keyboard.get(inputChar) == 'U') {
-                    GamePlay.keyboard.put(inputChar, 'B');
-                }
-            }
+    // Drops the current hint, stopping the search if it is still running
+    void cancelHint() {
+        if (hintRequest != null) {
+            hintRequest.cancel();
+            hintRequest = null;
         }
-
-        if (inputWord.equals(targetWord) || currentLine == 5) {
-            gameOver = true;
-            gameOverTimer = new Timer((letterCount + 1) * 500, e -> {
-                gameState = GameState.GAME_OVER;
-                mFrame.repaint();
-            });
-            gameOverTimer.setRepeats(false);
-            gameOverTimer.start();
+        if (hint != null) {
+            hint = null;
+            GamePlay.markMessageDirty(this);
         }
     }
 
-    void calculateRemainingOptions() {
-        Set<String> remainingOptions = new HashSet<>(allowableWords);
-        Map<Integer, Set<Character>> possibleLetters = new HashMap<>();
-        Set<Character> knownLetters = new HashSet<>();
+    void determineBoxColors() {
+        int pattern = Feedback.score(Dictionary.encode(letters[currentLine], letterCount), targetCode, letterCount);
 
-        // Initialise possible letters for each position
         for (int i = 0; i < letterCount; i++) {
-            possibleLetters.put(i, new HashSet<>());
-            for (char c = 'A'; c <= 'Z'; c++) {
-                possibleLetters.get(i).add(c);
-            }
-        }
-
-        // Collect all ruled out letters and required letters with counts
-        for (int line = 0; line <= currentLine; line++) {
-            for (int i = 0; i < letterCount; i++) {
-                char guessChar = letters[line][i];
-                if (boxColors[line][i] == Color.GRAY) {
-                    for (int j = 0; j < letterCount; j++) {
-                        possibleLetters.get(j).remove(guessChar);
+            char inputChar = letters[currentLine][i];
+            switch (Feedback.digit(pattern, i)) {
+                case Feedback.CORRECT:
+                    boxColors[currentLine][i] = Color.GREEN;
+                    GamePlay.keyboard.set(inputChar, OnScreenKeyboard.CORRECT);
+                    break;
+                case Feedback.PRESENT:
+                    boxColors[currentLine][i] = Color.YELLOW;
+                    if (GamePlay.keyboard.get(inputChar) != OnScreenKeyboard.CORRECT) {
+                        GamePlay.keyboard.set(inputChar, OnScreenKeyboard.PRESENT);
                     }
-                } else {
-                    if (boxColors[line][i] == Color.GREEN) {
-                        possibleLetters.get(i).clear();
-                        possibleLetters.get(i).add(guessChar);
-                    } else if (boxColors[line][i] == Color.YELLOW) {
-                        possibleLetters.get(i).remove(guessChar);
-                        knownLetters.add(guessChar);
+                    break;
+                default:
+                    boxColors[currentLine][i] = Color.GRAY;
+                    if (GamePlay.keyboard.get(inputChar) == OnScreenKeyboard.UNUSED) {
+                        GamePlay.keyboard.set(inputChar, OnScreenKeyboard.ABSENT);
                     }
-                }
+                    break;
             }
         }
 
-        // Filter remaining options based on possible letters for each position and required counts
-        Set<String> validOptions = new HashSet<>();
-        for (String word : remainingOptions) {
-            if (isValidOption(word, possibleLetters, knownLetters)) {
-                validOptions.add(word);
-            }
+        if (pattern == Feedback.solved(letterCount) || currentLine == 5) {
+            gameOver = true;
+            scheduler().after((letterCount + 1) * 0.5, () -> {
+                GameOver.prepare(this);
+                gameState = GameState.GAME_OVER;
+                markDirty();
+            });
         }
-
-        remainingOptionsAfterEachGuess.add(validOptions.size());
-
     }
 
-    private boolean isValidOption(String word, Map<Integer, Set<Character>> possibleLetters, Set<Character> knownLetters) {
-        int[] wordLetterCounts = new int[26];
-        for (char c : word.toCharArray()) {
-            wordLetterCounts[c - 'A']++;
-        }
-
-        // Check each position for valid letters
-        for (int i = 0; i < letterCount; i++) {
-            if (!possibleLetters.get(i).contains(word.charAt(i))) {
-                return false;
-            }
-        }
-
-        // Check if word contains all known letters
-        for (char c : knownLetters) {
-            if (wordLetterCounts[c - 'A'] == 0) {
-                return false;
-            }
-        }
-
-        return true;
+    void calculateRemainingOptions() {
+        int guess = Dictionary.encode(letters[currentLine], letterCount);
+        candidates.narrow(guess, Feedback.score(guess, targetCode, letterCount));
     }
-
 }
@@ -79,28 +79,24 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 		mFrame.setVisible(true);
 
 		mPanel.setDoubleBuffered(true);
-		mPanel.addMouseListener(this);
+		mPanel.addMouseListener(mMouseInput);
 		mPanel.addMouseMotionListener(this);
 
 		// Register a key event dispatcher to get a turn in handling all
-		// key events, independent of which component currently has the focus
+		// key events, independent of which component currently has the focus.
+		// The events are queued for the next update.
 		KeyboardFocusManager.getCurrentKeyboardFocusManager()
 				.addKeyEventDispatcher(new KeyEventDispatcher() {
 					@Override
 					public boolean dispatchKeyEvent(KeyEvent e) {
-						switch (e.getID()) {
-							case KeyEvent.KEY_PRESSED:
-								GameEngine.this.keyPressed(e);
-								return false;
-							case KeyEvent.KEY_RELEASED:
-								GameEngine.this.keyReleased(e);
-								return false;
-							case KeyEvent.KEY_TYPED:
-								GameEngine.this.keyTyped(e);
-								return false;
-							default:
-								return false; // do not consume the event
+						// F3 toggles the performance overlay
+						if(e.getID() == KeyEvent.KEY_PRESSED && e.getKeyCode() == KeyEvent.VK_F3) {
+							mShowOverlay = !mShowOverlay;
+							markDirty();
+							return false;
 						}
+						mInput.offer(e, System.nanoTime());
+						return false; // do not consume the event
 					}
 				});
 
@@ -116,9 +112,17 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 			public void run() {
 				mWidth = width;
 				mHeight = height;
+				markDirty();
+
+				// No window to resize when running headless
+				if(mPanel == null) {
+					return;
+				}
+
 				// Resize the window
-				mPanel.setPreferredSize(new Dimension(width, height));
-				mPanel.invalidate();
+				Component view = mCanvas != null ? mCanvas : mPanel;
+				view.setPreferredSize(new Dimension(width, height));
+				view.invalidate();
 				mFrame.pack();
 			}
 		});
@@ -151,14 +155,16 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 		mWidth = width;
 		mHeight = height;
 
-		// Create window
-		SwingUtilities.invokeLater(new Runnable() {
-			@Override
-			public void run() {
-				// Create the window
-				setupWindow(width, height);
-			}
-		});
+		// Create window, unless there is no display (e.g. benchmarks)
+		if(!GraphicsEnvironment.isHeadless()) {
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					// Create the window
+					setupWindow(width, height);
+				}
+			});
+		}
 	}
 
 	// Create Game Function
@@ -170,6 +176,21 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 		game.gameLoop(framerate);
 	}
 
+	// Create Game Function using the active rendering loop, which renders at
+	// framerate on its own thread while updating at a fixed step
+	public static void createGame(GameEngine game, int framerate, boolean activeRendering) {
+		if(!activeRendering || GraphicsEnvironment.isHeadless()) {
+			createGame(game, framerate);
+			return;
+		}
+
+		// Initialise Game
+		game.init();
+
+		// Start the Game
+		game.activeLoop(framerate);
+	}
+
 	public static void createGame(GameEngine game) {
 		// Call CreateGame
 		createGame(game, 30);
@@ -203,17 +224,24 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 	// and calls all the updates of the game and
 	// tells the game to display a new frame.
 	GameTimer timer = new GameTimer(30, new ActionListener() {
+		// Time of the previous tick in nanoseconds
+		long lastTick = 0;
+
 		@Override
 		public void actionPerformed(ActionEvent e) {
-			// Determine the time step
-			double passedTime = measureTime();
-			double dt = passedTime / 1000.;
+			// Determine the time step, in nanoseconds as the timer delay is only whole milliseconds
+			long now = System.nanoTime();
+			double dt = lastTick == 0 ? 0 : (now - lastTick) / 1e9;
+			lastTick = now;
 
 			// Update the Game
-			update(dt);
+			long allocated = FrameStats.threadAllocatedBytes();
+			step(dt);
+			mUpdateNanos = System.nanoTime() - now;
+			mUpdateAllocated = FrameStats.threadAllocatedBytes() - allocated;
 
-			// Tell the Game to draw
-			mPanel.repaint();
+			// Tell the Game to draw, but only what has changed
+			repaintDirty();
 		}
 	});
 
@@ -224,19 +252,350 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 		// This gets called any time the Operating System
 		// tells the program to paint itself
 		public void paintComponent(Graphics graphics) {
-			// Get the graphics object
-			mGraphics = (Graphics2D)graphics;
+			paintFrame((Graphics2D)graphics);
+		}
+	}
+
+	// Rendering settings for every frame
+	final RenderingHints mRenderingHints = new RenderingHints(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+	// Sets up the graphics object and paints the game onto it
+	void paintFrame(Graphics2D graphics) {
+		// Get the graphics object
+		mGraphics = graphics;
+
+		// Reset all transforms
+		mTransforms.clear();
+		mTransforms.push(mGraphics.getTransform());
+
+		// Rendering settings
+		mGraphics.setRenderingHints(mRenderingHints);
+
+		// Paint the game
+		if (initialised) {
+			long start = System.nanoTime();
+			long allocated = FrameStats.threadAllocatedBytes();
+			GameEngine.this.paintComponent();
+			mPaintNanos = System.nanoTime() - start;
+			mPaintAllocated = FrameStats.threadAllocatedBytes() - allocated;
+
+			// Swing presents the frame itself, so there is no present time to record
+			if(mCanvas == null) {
+				recordFrame(0);
+			}
+
+			if(mShowOverlay) {
+				drawPerformanceOverlay();
+			}
+		}
+	}
+
+	//-------------------------------------------------------
+	// Dirty regions
+	//-------------------------------------------------------
+
+	// Whether the whole window needs drawing, and the area that needs drawing
+	// otherwise (empty when nothing has changed). The timer only repaints these,
+	// so a screen waiting for input costs next to nothing.
+	boolean mDirty = true;
+	final Rectangle mDirtyRegion = new Rectangle();
+	final Rectangle mRepaintRegion = new Rectangle();
+
+	// Counts every markDirty call, to tell whether a piece of code changed the screen
+	long mDirtyGeneration = 0;
+
+	// Marks the whole window as needing to be drawn on the next frame
+	public synchronized void markDirty() {
+		mDirty = true;
+		mDirtyGeneration++;
+	}
+
+	// Marks an area of the window as needing to be drawn on the next frame
+	public synchronized void markDirty(double x, double y, double width, double height) {
+		int left = (int)Math.floor(x);
+		int top = (int)Math.floor(y);
+		int right = (int)Math.ceil(x + width);
+		int bottom = (int)Math.ceil(y + height);
+		if(right <= left || bottom <= top) {
+			return;
+		}
+
+		mDirtyGeneration++;
+		if(mDirtyRegion.isEmpty()) {
+			mDirtyRegion.setBounds(left, top, right - left, bottom - top);
+		} else {
+			mDirtyRegion.add(left, top);
+			mDirtyRegion.add(right, bottom);
+		}
+	}
+
+	// Returns true if anything has been marked dirty since the last frame
+	public synchronized boolean isDirty() {
+		return mDirty || !mDirtyRegion.isEmpty();
+	}
+
+	synchronized long dirtyGeneration() {
+		return mDirtyGeneration;
+	}
+
+	// Takes the dirty state for the frame about to be drawn.
+	// Returns false if nothing needs drawing, otherwise fills region
+	// with the area to draw (the whole window if everything is dirty).
+	synchronized boolean takeDirtyRegion(Rectangle region) {
+		// The overlay graphs change every frame
+		if(mDirty || mShowOverlay) {
+			region.setBounds(0, 0, mWidth, mHeight);
+		} else if(!mDirtyRegion.isEmpty()) {
+			region.setBounds(mDirtyRegion);
+		} else {
+			return false;
+		}
+
+		mDirty = false;
+		mDirtyRegion.setBounds(0, 0, 0, 0);
+		return true;
+	}
+
+	// Asks Swing to repaint whatever has been marked dirty
+	void repaintDirty() {
+		if(takeDirtyRegion(mRepaintRegion)) {
+			mPanel.repaint(mRepaintRegion.x, mRepaintRegion.y, mRepaintRegion.width, mRepaintRegion.height);
+		}
+	}
+
+	//-------------------------------------------------------
+	// Performance measurement
+	//-------------------------------------------------------
+
+	// Timings of every frame, see frameStats()
+	FrameStats mFrameStats = new FrameStats();
+
+	// Toggled on the event dispatch thread, read by whichever thread renders
+	volatile boolean mShowOverlay = false;
+
+	// Measurements of the frame in progress
+	long mUpdateNanos, mPaintNanos, mUpdateAllocated, mPaintAllocated;
+	long mLastFrame = 0;
+
+	// Returns the recorded frame timings, e.g. for automated performance tests
+	public FrameStats frameStats() {
+		return mFrameStats;
+	}
+
+	// Shows or hides the performance overlay (also toggled with F3)
+	public void setPerformanceOverlay(boolean visible) {
+		mShowOverlay = visible;
+		markDirty();
+	}
+
+	// Time the engine was created and the first frame was drawn, for startup times
+	final long mCreatedNanos = System.nanoTime();
+	volatile long mFirstFrameNanos = 0;
+
+	// Returns the milliseconds from creating the engine to drawing the first frame, or -1 if none has been drawn
+	public double timeToFirstFrame() {
+		long first = mFirstFrameNanos;
+		return first == 0 ? -1 : (first - mCreatedNanos) / 1e6;
+	}
+
+	// Records the frame that was just drawn
+	void recordFrame(long presentNanos) {
+		long now = System.nanoTime();
+		if(mFirstFrameNanos == 0) {
+			mFirstFrameNanos = now;
+		}
+		long interval = mLastFrame == 0 ? 0 : now - mLastFrame;
+		mLastFrame = now;
+		mFrameStats.record(mUpdateNanos, mPaintNanos, presentNanos, interval, mUpdateAllocated + mPaintAllocated);
+		if(mInputShown != 0) {
+			mFrameStats.recordInputLatency(now - mInputShown);
+			mInputShown = 0;
+		}
+		mUpdateNanos = 0;
+		mUpdateAllocated = 0;
+	}
+
+	// Overlay text is fetched twice a second and FrameStats only rebuilds it
+	// when the numbers change, so drawing it stays cheap
+	String[] mOverlayText = new String[0];
+	long mOverlayUpdated = 0;
+	long[] mOverlayFrames = new long[120];
+	long[] mOverlayPaints = new long[120];
+	final Font mOverlayFont = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+	final Color mOverlayBackground = new Color(0, 0, 0, 180);
+
+	// Draws FPS, percentiles, allocation rate and frame time graphs in the top left corner
+	void drawPerformanceOverlay() {
+		long now = System.nanoTime();
+		if(now - mOverlayUpdated > 500_000_000L) {
+			mOverlayUpdated = now;
+			mOverlayText = mFrameStats.overlayText();
+		}
+
+		// Draw in window coordinates whatever transform the game left behind
+		AffineTransform transform = mGraphics.getTransform();
+		mGraphics.setTransform(mTransforms.firstElement());
+
+		int graphHeight = 40;
+		int height = 8 + mOverlayText.length * 13 + graphHeight + 8;
+		mGraphics.setColor(mOverlayBackground);
+		mGraphics.fillRect(4, 4, 4 + mOverlayFrames.length * 2 + 4, height);
+
+		mGraphics.setFont(mOverlayFont);
+		mGraphics.setColor(Color.WHITE);
+		for(int i = 0; i < mOverlayText.length; i++) {
+			mGraphics.drawString(mOverlayText[i], 8, 16 + i * 13);
+		}
+
+		// Frame interval in green and paint time in yellow, 1 pixel per ms
+		int graphBottom = 4 + height - 6;
+		int frames = mFrameStats.copyRecent(FrameStats.Phase.FRAME, mOverlayFrames);
+		int paints = mFrameStats.copyRecent(FrameStats.Phase.PAINT, mOverlayPaints);
+		mGraphics.setColor(Color.GREEN);
+		for(int i = 0; i < frames; i++) {
+			int h = (int)Math.min(graphHeight, mOverlayFrames[i] / 1_000_000L);
+			mGraphics.fillRect(8 + i * 2, graphBottom - h, 1, h);
+		}
+		mGraphics.setColor(Color.YELLOW);
+		for(int i = 0; i < paints; i++) {
+			int h = (int)Math.min(graphHeight, mOverlayPaints[i] / 1_000_000L);
+			mGraphics.fillRect(9 + i * 2, graphBottom - h, 1, h);
+		}
+
+		// 60 fps budget line
+		mGraphics.setColor(Color.RED);
+		mGraphics.fillRect(8, graphBottom - 17, mOverlayFrames.length * 2, 1);
+
+		mGraphics.setTransform(transform);
+	}
+
+	//-------------------------------------------------------
+	// Active rendering
+	//-------------------------------------------------------
+
+	// Rate of the fixed update step used by the active loop
+	public static final int UPDATE_RATE = 60;
+
+	// Canvas drawn through a BufferStrategy, replaces mPanel in active mode
+	Canvas mCanvas;
+	volatile boolean running = false;
+
+	// Fraction of an update step that has passed since the last update, used
+	// to interpolate animations when rendering between fixed steps
+	double mAlpha = 0;
+
+	// Returns the time in seconds since the last update, 0 unless active rendering is used
+	public double interpolationTime() {
+		return mAlpha / UPDATE_RATE;
+	}
+
+	// Starts the active loop on its own thread: updates at a fixed UPDATE_RATE
+	// and renders up to framerate times a second straight to a BufferStrategy
+	public void activeLoop(int framerate) {
+		// Swap the Swing panel for a Canvas we can page flip
+		try {
+			SwingUtilities.invokeAndWait(new Runnable() {
+				@Override
+				public void run() {
+					mCanvas = new Canvas();
+					mCanvas.setIgnoreRepaint(true);
+					mCanvas.setPreferredSize(new Dimension(mWidth, mHeight));
+					mCanvas.addMouseListener(mMouseInput);
+					mCanvas.addMouseMotionListener(GameEngine.this);
+					mFrame.remove(mPanel);
+					mFrame.add(mCanvas);
+					mFrame.pack();
+					mCanvas.createBufferStrategy(2);
+				}
+			});
+		} catch(Exception e) {
+			// Fall back to the timer
+			System.out.println("Error: could not start active rendering, using the timer instead\n");
+			gameLoop(framerate);
+			return;
+		}
 
-			// Reset all transforms
-			mTransforms.clear();
-			mTransforms.push(mGraphics.getTransform());
+		initialised = true;
+		running = true;
 
-			// Rendering settings
-			mGraphics.setRenderingHints(new RenderingHints(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON));
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				runActiveLoop(Math.max(1, framerate));
+			}
+		}, "Game Loop");
+		thread.start();
+	}
+
+	private void runActiveLoop(int framerate) {
+		final long step = 1_000_000_000L / UPDATE_RATE;
+		final long frame = 1_000_000_000L / framerate;
+		final long maxFrame = 250_000_000L; // never simulate more than a quarter second at once
+
+		BufferStrategy strategy = mCanvas.getBufferStrategy();
+		long previous = System.nanoTime();
+		long accumulator = 0;
+		boolean animating = true;
+
+		while(running) {
+			long frameStart = System.nanoTime();
+			accumulator += Math.min(frameStart - previous, maxFrame);
+			previous = frameStart;
+
+			// Update in fixed steps
+			long allocated = FrameStats.threadAllocatedBytes();
+			boolean updated = false;
+			while(accumulator >= step) {
+				step(step / 1e9);
+				accumulator -= step;
+				updated = true;
+			}
+			mAlpha = (double)accumulator / step;
+			mUpdateNanos = System.nanoTime() - frameStart;
+			mUpdateAllocated = FrameStats.threadAllocatedBytes() - allocated;
+
+			// Page flipping needs whole frames, so anything dirty redraws
+			// everything. Keep drawing until an update step changes nothing,
+			// so animations are interpolated between steps.
+			if(takeDirtyRegion(mRepaintRegion)) {
+				animating = true;
+			} else if(updated) {
+				animating = false;
+			}
 
-			// Paint the game
-			if (initialised) {
-				GameEngine.this.paintComponent();
+			// Render, repeating if the buffer contents were lost
+			long presentNanos = 0;
+			boolean drawn = animating || strategy.contentsLost();
+			boolean dirty = drawn;
+			while(dirty) {
+				do {
+					Graphics2D graphics = (Graphics2D)strategy.getDrawGraphics();
+					try {
+						paintFrame(graphics);
+					} finally {
+						graphics.dispose();
+					}
+				} while(strategy.contentsRestored());
+				long presentStart = System.nanoTime();
+				strategy.show();
+				presentNanos += System.nanoTime() - presentStart;
+				dirty = strategy.contentsLost();
+			}
+			if(drawn) {
+				long syncStart = System.nanoTime();
+				Toolkit.getDefaultToolkit().sync();
+				recordFrame(presentNanos + System.nanoTime() - syncStart);
+			}
+
+			// Wait for the next frame
+			long wake = frameStart + frame;
+			long remaining;
+			while((remaining = wake - System.nanoTime()) > 0) {
+				if(remaining > 2_000_000L) {
+					sleep((remaining - 1_000_000L) / 1e6);
+				} else {
+					Thread.onSpinWait();
+				}
 			}
 		}
 	}
@@ -262,6 +621,30 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 	//-------------------------------------------------------
 	public abstract void update(double dt);
 
+	// Timed actions and tweens, stepped just before every update
+	final Scheduler mScheduler = new Scheduler();
+
+	public Scheduler scheduler() {
+		return mScheduler;
+	}
+
+	// Runs the scheduled actions, the queued input then the game's update
+	void step(double dt) {
+		mScheduler.update(dt);
+		drainInput();
+		update(dt);
+	}
+
+	// Runs the game forward by the given number of seconds in fixed update
+	// steps without waiting, e.g. to skip animations in headless runs
+	public void fastForward(double seconds) {
+		double dt = 1.0 / UPDATE_RATE;
+		while(seconds > 0) {
+			step(Math.min(dt, seconds));
+			seconds -= dt;
+		}
+	}
+
 	//-------------------------------------------------------
 	// Paint function
 	//-------------------------------------------------------
@@ -271,6 +654,51 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 	// Keyboard functions
 	//-------------------------------------------------------
 
+	// Key and mouse button events wait here for the next update, so they
+	// are handled on the update thread in the order they arrived
+	final InputQueue mInput = new InputQueue();
+
+	// Arrival time of the oldest input the next frame will show, 0 if none
+	long mInputShown = 0;
+
+	// Queues mouse button events, mouse motion is handled straight away
+	final MouseListener mMouseInput = new MouseListener() {
+		public void mouseClicked(MouseEvent event) { mInput.offer(event, System.nanoTime()); }
+		public void mousePressed(MouseEvent event) { mInput.offer(event, System.nanoTime()); }
+		public void mouseReleased(MouseEvent event) { mInput.offer(event, System.nanoTime()); }
+		public void mouseEntered(MouseEvent event) { mInput.offer(event, System.nanoTime()); }
+		public void mouseExited(MouseEvent event) { mInput.offer(event, System.nanoTime()); }
+	};
+
+	// Hands the queued input to the game
+	void drainInput() {
+		AWTEvent event;
+		while((event = mInput.peek()) != null) {
+			long arrived = mInput.peekTime();
+			mInput.poll();
+			long generation = dirtyGeneration();
+			dispatchInput(event);
+
+			// Only input that changed the screen itself counts towards latency, from when it arrived
+			if(mInputShown == 0 && dirtyGeneration() != generation) {
+				mInputShown = arrived;
+			}
+		}
+	}
+
+	void dispatchInput(AWTEvent event) {
+		switch(event.getID()) {
+			case KeyEvent.KEY_PRESSED: keyPressed((KeyEvent)event); break;
+			case KeyEvent.KEY_RELEASED: keyReleased((KeyEvent)event); break;
+			case KeyEvent.KEY_TYPED: keyTyped((KeyEvent)event); break;
+			case MouseEvent.MOUSE_CLICKED: mouseClicked((MouseEvent)event); break;
+			case MouseEvent.MOUSE_PRESSED: mousePressed((MouseEvent)event); break;
+			case MouseEvent.MOUSE_RELEASED: mouseReleased((MouseEvent)event); break;
+			case MouseEvent.MOUSE_ENTERED: mouseEntered((MouseEvent)event); break;
+			case MouseEvent.MOUSE_EXITED: mouseExited((MouseEvent)event); break;
+		}
+	}
+
 	// Called whenever a key is pressed
 	public void keyPressed(KeyEvent event) {}
 
@@ -341,7 +769,7 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 		if(blue > 255) {blue = 255;}
 
 		// Set background colour
-		mGraphics.setBackground(new Color(red,green,blue));
+		mGraphics.setBackground(color(red,green,blue));
 	}
 
 	// Clears the background, makes the whole window whatever the background color is
@@ -369,81 +797,152 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 		if(blue > 255) {blue = 255;}
 
 		// Set colour
-		mGraphics.setColor(new Color(red,green,blue));
+		mGraphics.setColor(color(red,green,blue));
+	}
+
+	// Colours made by changeColor(red,green,blue), direct mapped by value
+	final Color[] mColors = new Color[256];
+
+	// Returns a shared Color for (red,green,blue), which must already be clamped
+	Color color(int red, int green, int blue) {
+		int rgb = 0xFF000000 | (red << 16) | (green << 8) | blue;
+		int slot = (rgb ^ (rgb >>> 8) ^ (rgb >>> 16)) & (mColors.length - 1);
+		Color c = mColors[slot];
+		if(c == null || c.getRGB() != rgb) {
+			c = new Color(rgb);
+			mColors[slot] = c;
+		}
+		return c;
+	}
+
+	// Shapes reused by the drawing functions, so drawing allocates nothing
+	final Line2D.Double mLine = new Line2D.Double();
+	final Rectangle2D.Double mRectangle = new Rectangle2D.Double();
+	final Ellipse2D.Double mEllipse = new Ellipse2D.Double();
+	final Path2D.Double mRectangles = new Path2D.Double();
+
+	// Strokes made by the functions taking a line width, direct mapped by width
+	static final BasicStroke DEFAULT_STROKE = new BasicStroke(1.0f);
+	final BasicStroke[] mStrokes = new BasicStroke[16];
+
+	// Returns a shared stroke of width l
+	BasicStroke stroke(double l) {
+		float width = (float)l;
+		int bits = Float.floatToIntBits(width);
+		int slot = (bits ^ (bits >>> 16)) & (mStrokes.length - 1);
+		BasicStroke stroke = mStrokes[slot];
+		if(stroke == null || stroke.getLineWidth() != width) {
+			stroke = new BasicStroke(width);
+			mStrokes[slot] = stroke;
+		}
+		return stroke;
 	}
 
 	// Draws a line from (x1,y2) to (x2,y2)
 	void drawLine(double x1, double y1, double x2, double y2) {
 		// Draw a Line
-		mGraphics.draw(new Line2D.Double(x1, y1, x2, y2));
+		mLine.setLine(x1, y1, x2, y2);
+		mGraphics.draw(mLine);
 	}
 
 	// Draws a line from (x1,y2) to (x2,y2) with width l
 	void drawLine(double x1, double y1, double x2, double y2, double l) {
 		// Set the stroke
-		mGraphics.setStroke(new BasicStroke((float)l));
+		mGraphics.setStroke(stroke(l));
 
 		// Draw a Line
-		mGraphics.draw(new Line2D.Double(x1, y1, x2, y2));
+		mLine.setLine(x1, y1, x2, y2);
+		mGraphics.draw(mLine);
 
 		// Reset the stroke
-		mGraphics.setStroke(new BasicStroke(1.0f));
+		mGraphics.setStroke(DEFAULT_STROKE);
 	}
 
 	// This function draws a rectangle at (x,y) with width and height (w,h)
 	void drawRectangle(double x, double y, double w, double h) {
 		// Draw a Rectangle
-		mGraphics.draw(new Rectangle2D.Double(x, y, w, h));
+		mRectangle.setRect(x, y, w, h);
+		mGraphics.draw(mRectangle);
 	}
 
 	// This function draws a rectangle at (x,y) with width and height (w,h)
 	// with a line of width l
 	void drawRectangle(double x, double y, double w, double h, double l) {
 		// Set the stroke
-		mGraphics.setStroke(new BasicStroke((float)l));
+		mGraphics.setStroke(stroke(l));
 
 		// Draw a Rectangle
-		mGraphics.draw(new Rectangle2D.Double(x, y, w, h));
+		mRectangle.setRect(x, y, w, h);
+		mGraphics.draw(mRectangle);
 
 		// Reset the stroke
-		mGraphics.setStroke(new BasicStroke(1.0f));
+		mGraphics.setStroke(DEFAULT_STROKE);
 	}
 
 	// This function fills in a rectangle at (x,y) with width and height (w,h)
 	void drawSolidRectangle(double x, double y, double w, double h) {
 		// Fill a Rectangle
-		mGraphics.fill(new Rectangle2D.Double(x, y, w, h));
+		mRectangle.setRect(x, y, w, h);
+		mGraphics.fill(mRectangle);
+	}
+
+	// This function fills in count rectangles at (x[i],y[i]) with width and height (w[i],h[i])
+	// in one go, which is much cheaper than filling them one at a time
+	void drawSolidRectangles(double[] x, double[] y, double[] w, double[] h, int count) {
+		// Collect the rectangles into one shape
+		mRectangles.reset();
+		for(int i = 0; i < count; i++) {
+			mRectangles.moveTo(x[i], y[i]);
+			mRectangles.lineTo(x[i] + w[i], y[i]);
+			mRectangles.lineTo(x[i] + w[i], y[i] + h[i]);
+			mRectangles.lineTo(x[i], y[i] + h[i]);
+			mRectangles.closePath();
+		}
+
+		// Fill them all
+		mGraphics.fill(mRectangles);
 	}
 
 	// This function draws a circle at (x,y) with radius
 	void drawCircle(double x, double y, double radius) {
 		// Draw a Circle
-		mGraphics.draw(new Ellipse2D.Double(x-radius, y-radius, radius*2, radius*2));
+		mEllipse.setFrame(x-radius, y-radius, radius*2, radius*2);
+		mGraphics.draw(mEllipse);
 	}
 
 	// This function draws a circle at (x,y) with radius
 	// with a line of width l
 	void drawCircle(double x, double y, double radius, double l) {
 		// Set the stroke
-		mGraphics.setStroke(new BasicStroke((float)l));
+		mGraphics.setStroke(stroke(l));
 
 		// Draw a Circle
-		mGraphics.draw(new Ellipse2D.Double(x-radius, y-radius, radius*2, radius*2));
+		mEllipse.setFrame(x-radius, y-radius, radius*2, radius*2);
+		mGraphics.draw(mEllipse);
 
 		// Reset the stroke
-		mGraphics.setStroke(new BasicStroke(1.0f));
+		mGraphics.setStroke(DEFAULT_STROKE);
 	}
 
 	// This function draws a circle at (x,y) with radius
 	void drawSolidCircle(double x, double y, double radius) {
 		// Fill a Circle
-		mGraphics.fill(new Ellipse2D.Double(x-radius, y-radius, radius*2, radius*2));
+		mEllipse.setFrame(x-radius, y-radius, radius*2, radius*2);
+		mGraphics.fill(mEllipse);
+	}
+
+	// Fonts used by the text functions, created once each
+	FontRegistry mFonts = new FontRegistry();
+
+	// Returns the shared font (name,style,size)
+	public Font getFont(String name, int style, int size) {
+		return mFonts.font(name, style, size);
 	}
 
 	// This function draws text on the screen at (x,y)
 	public void drawText(double x, double y, String s) {
 		// Draw text on the screen
-		mGraphics.setFont(new Font("Arial", Font.PLAIN, 40));
+		mGraphics.setFont(mFonts.font("Arial", Font.PLAIN, 40));
 		mGraphics.drawString(s, (int)x, (int)y);
 	}
 	public void drawText(double x, double y, String s, Font font) {
@@ -454,7 +953,7 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 	// This function draws bold text on the screen at (x,y)
 	public void drawBoldText(double x, double y, String s) {
 		// Draw text on the screen
-		mGraphics.setFont(new Font("Arial", Font.BOLD, 40));
+		mGraphics.setFont(mFonts.font("Arial", Font.BOLD, 40));
 		mGraphics.drawString(s, (int)x, (int)y);
 	}
 
@@ -462,7 +961,7 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 	// with Font (font,size)
 	public void drawText(double x, double y, String s, String font, int size) {
 		// Draw text on the screen
-		mGraphics.setFont(new Font(font, Font.PLAIN, size));
+		mGraphics.setFont(mFonts.font(font, Font.PLAIN, size));
 		mGraphics.drawString(s, (int)x, (int)y);
 	}
 
@@ -470,7 +969,7 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 	// with Font (font,size)
 	public void drawBoldText(double x, double y, String s, String font, int size) {
 		// Draw text on the screen
-		mGraphics.setFont(new Font(font, Font.BOLD, size));
+		mGraphics.setFont(mFonts.font(font, Font.BOLD, size));
 		mGraphics.drawString(s, (int)x, (int)y);
 	}
 
@@ -496,6 +995,19 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 		return null;
 	}
 
+	// Creates a translucent image in the format of the screen, which Java2D
+	// can keep in video memory (a plain ARGB image when there is no screen)
+	public static BufferedImage createCompatibleImage(int width, int height) {
+		// Check if there is a screen
+		if(GraphicsEnvironment.isHeadless()) {
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+		}
+
+		// Create the image
+		return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+				.getDefaultConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+	}
+
 	// Loads a sub-image out of an image
 	public static Image subImage(Image source, int x, int y, int w, int h) {
 		// Check if image is null
@@ -530,6 +1042,21 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 		mGraphics.drawImage(image, (int)x, (int)y, null);
 	}
 
+	// Draws the (w,h) region at (sx,sy) of an image on the screen at position (x,y)
+	public void drawImage(Image image, int sx, int sy, int w, int h, double x, double y) {
+		// Check if image is null
+		if(image == null) {
+			// Print Error message
+			System.out.println("Error: cannot draw null image.\n");
+			return;
+		}
+
+		// Draw the region unscaled
+		int dx = (int)x;
+		int dy = (int)y;
+		mGraphics.drawImage(image, dx, dy, dx + w, dy + h, sx, sy, sx + w, sy + h, null);
+	}
+
 	// Draws an image on the screen at position (x,y)
 	public void drawImage(Image image, double x, double y, double w, double h) {
 		// Check if image is null
@@ -634,6 +1161,14 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 			return mLength;
 		}
 
+		public AudioClip(AudioFormat format, byte[] data) {
+			// Use already decoded data
+			mFormat = format;
+			mData = data;
+			mLength = data.length;
+			mLoopClip = null;
+		}
+
 		public AudioClip(AudioInputStream stream) {
 			// Get Format
 			mFormat = stream.getFormat();
@@ -864,6 +1399,12 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 	//-------------------------------------------------------
 	Random mRandom = null;
 
+	// Seeds the random number generator so a run of games can be reproduced
+	public void setRandomSeed(long seed) {
+		// Replace mRandom with a seeded Random Object
+		mRandom = new Random(seed);
+	}
+
 	// Function that returns a random integer between 0 and max
 	public int rand(int max) {
 		// Check if mRandom Exists
@@ -1018,14 +1559,14 @@ public abstract class GameEngine implements KeyListener, MouseListener, MouseMot
 	}
 
 	public void drawCenteredBoldText(int x, int y, String text, String fontName, int fontSize) {
-		Font font = new Font(fontName, Font.BOLD, fontSize);
-		FontMetrics metrics = mGraphics.getFontMetrics(font);
-		int textWidth = metrics.stringWidth(text);
+		Font font = mFonts.font(fontName, Font.BOLD, fontSize);
+		int textWidth = mFonts.stringWidth(font, text, mGraphics);
 		int textX = x - textWidth / 2;
-		changeFont(font);
 		drawText(textX, y, text, font);
 	}
 
-	private void changeFont(Font font) {
+	// Returns the metrics of font, cached after the first call
+	public FontMetrics getFontMetrics(Font font) {
+		return mFonts.metrics(font, mGraphics);
 	}
 }
@@ -1,13 +1,30 @@
 public class GameOver {
+    // Worked out once when the game ends, so drawing the screen builds no strings
+    private static boolean isGameWon;
+    private static String answerText = "";
+    private static String[] guessTexts = new String[0];
+
+    // Prepares the results of the game that just ended, call before showing the screen
+    public static void prepare(Game game) {
+        isGameWon = Dictionary.encode(game.letters[game.currentLine - 1], game.letterCount) == game.targetCode;
+        answerText = "The word was: " + game.targetWord;
+
+        // Remaining options after each guess
+        int remainingGuesses = Math.max(0, game.candidates.guessCount() - 1);
+        guessTexts = new String[remainingGuesses];
+        for (int i = 0; i < remainingGuesses; i++) {
+            int remainingOptions = game.candidates.sizeAfterGuess(i);
+            String optionText = remainingOptions == 1 ? " option remained" : " options remained";
+            guessTexts[i] = "After guess " + (i + 1) + ": " + remainingOptions + optionText;
+        }
+    }
+
     public static void drawGameOver(Game game) {
         game.changeBackgroundColor(game.black);
         game.clearBackground(game.width(), game.height());
 
         int centerX = game.width() / 2;
 
-        // Determine if the game is won or lost
-        boolean isGameWon = game.targetWord.equals(new String(game.letters[game.currentLine - 1]));
-
         // Draw game result message
         if (isGameWon) {
             game.changeColor(game.green);
@@ -16,20 +33,17 @@ public class GameOver {
         } else {
             game.changeColor(game.red);
             game.drawCenteredBoldText(centerX, 200, "Game Over", "Arial", 40);
-            game.drawCenteredBoldText(centerX, 240, "The word was: " + game.targetWord, "Arial", 20);
+            game.drawCenteredBoldText(centerX, 240, answerText, "Arial", 20);
         }
 
         // Draw remaining options after each guess
         game.changeColor(game.white);
         int yOffsetStart = 300;
         int yOffsetIncrement = 25;
-        int remainingGuesses = game.remainingOptionsAfterEachGuess.size() - 1;
         int yOffset = yOffsetStart;
 
-        for (int i = 0; i < remainingGuesses; i++) {
-            int remainingOptions = game.remainingOptionsAfterEachGuess.get(i);
-            String optionText = remainingOptions == 1 ? " option remained" : " options remained";
-            game.drawCenteredBoldText(centerX, yOffset, "After guess " + (i + 1) + ": " + remainingOptions + optionText, "Arial", 20);
+        for (String guessText : guessTexts) {
+            game.drawCenteredBoldText(centerX, yOffset, guessText, "Arial", 20);
             yOffset += yOffsetIncrement;
         }
 
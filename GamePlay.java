@@ -1,230 +1,238 @@
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
-import java.util.HashMap;
-import java.util.Map;
+import java.awt.image.BufferedImage;
 
 public class GamePlay {
-    static Map<Character, Character> keyboard = new HashMap<>();
+    static final double FLIP_SPEED = 2; // Flips per second, adjust the flipping speed here
+    static OnScreenKeyboard keyboard = new OnScreenKeyboard();
 
+    // Keys typed or clicked while a guess is flipping over, replayed once it has finished
+    private static final int MAX_HELD_KEYS = 32;
+    private static final int[] heldKeyCodes = new int[MAX_HELD_KEYS];
+    private static final char[] heldKeyChars = new char[MAX_HELD_KEYS];
+    private static int heldKeys = 0;
+
+    // Board layout
+    static final double BOX_SIZE = 50;
+    static final double BOX_SPACING = 10;
+    static final double BOARD_Y = 50;
+
+    // Draws the board as last published by the update, see Game.publishBoard()
     public static void drawGame(Game game) {
         game.changeBackgroundColor(Color.BLACK);
         game.clearBackground(game.width(), game.height());
-        double boxWidth = 50;
-        double boxHeight = 50;
-        double startY = 50;
-        double totalWidth = game.letterCount * boxWidth + (game.letterCount - 1) * 10;
-        double startX = (game.width() - totalWidth) / 2;
-
-        for (int line = 0; line < 6; line++) {
-            for (int i = 0; i < game.letterCount; i++) {
-                double currentX = startX + i * (boxWidth + 10);
-                double currentY = startY + line * (boxHeight + 10);
-                double heightScale = Math.abs(Math.cos(Math.PI * game.flipProgress[line][i]));
-                double currentHeight = boxHeight * heightScale;
-                double boxY = currentY + (boxHeight - currentHeight) / 2;
+        BoardSnapshot board = game.board;
+        if (board == null) {
+            return;
+        }
 
-                Color boxColor = Color.WHITE;
-                if (game.isSolid[line][i]) {
-                    boxColor = game.boxColors[line][i];
-                }
+        double boxWidth = BOX_SIZE;
+        double boxHeight = BOX_SIZE;
+        double startY = BOARD_Y;
+        double startX = boardX(game, board.letterCount());
 
-                if (game.isSolid[line][i] || (game.isFlipping[line][i] && game.flipProgress[line][i] > 0.5)) {
-                    game.changeColor(boxColor);
-                    game.drawSolidRectangle(currentX, boxY, boxWidth, currentHeight);
+        for (int line = 0; line < board.lines(); line++) {
+            for (int i = 0; i < board.letterCount(); i++) {
+                double currentX = startX + i * (boxWidth + 10);
+                double currentY = startY + line * (boxHeight + 10);
+                double flipProgress = flipProgress(game, board, line, i);
+                double heightScale = Math.abs(Math.cos(Math.PI * flipProgress));
+
+                // Solid boxes show their colour, boxes past halfway through a flip show a white back
+                BufferedImage tile;
+                char letter = board.letter(line, i);
+                if (board.isSolid(line, i)) {
+                    tile = game.tiles.back(board.color(line, i), letter, heightScale);
+                } else if (board.isFlipping(line, i) && flipProgress > 0.5) {
+                    tile = game.tiles.back(Color.WHITE, letter, heightScale);
                 } else {
-                    game.changeColor(Color.WHITE);
-                    game.drawRectangle(currentX, boxY, boxWidth, currentHeight);
+                    tile = game.tiles.front(letter, heightScale);
                 }
 
-                if (game.letters[line][i] != '\0') {
-                    game.saveCurrentTransform();
-                    game.translate(currentX + boxWidth / 2, boxY + currentHeight / 2);
-                    double angle = Math.PI * game.flipProgress[line][i];
-                    double scaleY = Math.cos(angle);
-                    if (game.flipProgress[line][i] > 0.5) {
-                        scaleY = -scaleY;
-                    }
-                    game.scale(1, scaleY);
-                    game.translate(-boxWidth / 2, -boxHeight / 2);
-
-                    if (game.flipProgress[line][i] > 0.5) {
-                        game.changeColor(Color.BLACK);
-                    } else {
-                        game.changeColor(Color.WHITE);
-                    }
-
-                    FontMetrics metrics = game.mGraphics.getFontMetrics(game.font);
-                    int letterWidth = metrics.stringWidth(String.valueOf(game.letters[line][i]));
-                    int letterHeight = metrics.getAscent();
-                    game.drawText((boxWidth - letterWidth) / 2, (boxHeight + letterHeight) / 2 - 3, String.valueOf(game.letters[line][i]), game.font);
-
-                    game.restoreLastTransform();
+                // Squashed tiles are centred on the middle of the box
+                if (tile != null) {
+                    int tileY = (int) Math.round(currentY + boxHeight / 2 - tile.getHeight() / 2.0);
+                    game.mGraphics.drawImage(tile, (int) currentX - TileCache.MARGIN, tileY, null);
                 }
             }
         }
     }
 
-    public static void drawKeyboard(Game game) {
-        game.keyBounds.clear();
-        String[] rows = {"QWERTYUIOP", "ASDFGHJKL", "ZXCVBNM"};
-        int startY = 500;
-        int keyWidth = 40;
-        int keyHeight = 50;
-        int fontSize = 25;
-        int spacingBetweenRows = 55;
-
-        Font font = null;
-        for (int i = 0; i < rows.length; i++) {
-            int startX = (game.width() - rows[i].length() * (keyWidth + 5)) / 2;
-            for (char letter : rows[i].toCharArray()) {
-                char status = keyboard.getOrDefault(letter, 'U');
-                switch (status) {
-                    case 'G':
-                        game.changeColor(Color.GREEN);
-                        break;
-                    case 'Y':
-                        game.changeColor(Color.YELLOW);
-                        break;
-                    case 'B':
-                        game.changeColor(Color.GRAY);
-                        break;
-                    default:
-                        game.changeColor(Color.LIGHT_GRAY);
-                        break;
-                }
-                game.drawSolidRectangle(startX, startY, keyWidth, keyHeight);
-                game.changeColor(Color.BLACK);
-                font = new Font("Arial", Font.BOLD, fontSize);
-                FontMetrics metrics = game.mGraphics.getFontMetrics(font);
-                int letterWidth = metrics.stringWidth(String.valueOf(letter));
-                int letterHeight = metrics.getAscent();
-                game.drawText(startX + (keyWidth - letterWidth) / 2, startY + (keyHeight + letterHeight) / 2 , String.valueOf(letter), font);
+    private static double boardX(Game game, int letterCount) {
+        double totalWidth = letterCount * BOX_SIZE + (letterCount - 1) * BOX_SPACING;
+        return (game.width() - totalWidth) / 2;
+    }
 
-                game.keyBounds.put(new Rectangle(startX, startY, keyWidth, keyHeight), letter);
+    // Marks a box of the board for redrawing, including its outline
+    static void markBoxDirty(Game game, int line, int i) {
+        double x = boardX(game, game.letterCount) + i * (BOX_SIZE + BOX_SPACING);
+        double y = BOARD_Y + line * (BOX_SIZE + BOX_SPACING);
+        game.markDirty(x - 1, y - 1, BOX_SIZE + 2, BOX_SIZE + 2);
+    }
 
-                startX += keyWidth + 5;
-            }
-            startY += spacingBetweenRows;
+    // Marks the line under the board where the invalid word and hint messages go
+    static void markMessageDirty(Game game) {
+        game.markDirty(0, 420, game.width(), 50);
+    }
+
+    static void markKeyboardDirty(Game game) {
+        game.markDirty(0, 500, game.width(), 160);
+    }
+
+    // Flip progress moved on to the time the frame is drawn, so flips stay
+    // smooth when rendering faster than the fixed update step
+    private static double flipProgress(Game game, BoardSnapshot board, int line, int i) {
+        double progress = board.flipProgress(line, i);
+        if (board.isFlipping(line, i)) {
+            progress = Math.min(1, progress + FLIP_SPEED * game.interpolationTime());
         }
+        return progress;
+    }
 
-        // Draw the back key
-        int backKeyX = game.width() / 2 - 223;
-        int backKeyY = 610;
-        int backKeyWidth = 60;
-        int backKeyHeight = keyHeight;
-        game.changeColor(Color.LIGHT_GRAY);
-        game.drawSolidRectangle(backKeyX, backKeyY, backKeyWidth, backKeyHeight);
-        game.changeColor(Color.BLACK);
-        game.drawText(backKeyX + (backKeyWidth - fontSize) / 2, backKeyY + (backKeyHeight + fontSize) / 2 - 2, "\u232B", font);
-        game.keyBounds.put(new Rectangle(backKeyX, backKeyY, backKeyWidth, backKeyHeight), '<');
-
-        // Draw the enter key
-        int enterKeyX = (game.width() / 2 + 157);
-        int enterKeyY = 610;
-        int enterKeyWidth = 60;
-        int enterKeyHeight = keyHeight;
-        game.changeColor(Color.LIGHT_GRAY);
-        game.drawSolidRectangle(enterKeyX, enterKeyY, enterKeyWidth, enterKeyHeight);
-        game.changeColor(Color.BLACK);
-        game.drawText(enterKeyX + (enterKeyWidth - fontSize) / 2, enterKeyY + (enterKeyHeight + fontSize) / 2, "\u23CE", font);
-        game.keyBounds.put(new Rectangle(enterKeyX, enterKeyY, enterKeyWidth, enterKeyHeight), '\n');
+    public static void drawKeyboard(Game game) {
+        BoardSnapshot board = game.board;
+        if (board != null) {
+            keyboard.draw(game, board);
+        }
     }
 
     public static void drawInvalidMessage(Game game) {
-        if (game.invalidWord) {
-            game.changeColor(Color.RED);
-            game.drawCenteredBoldText(game.width() / 2, 460, "Invalid word!", "Arial", 30);
+        BoardSnapshot board = game.board;
+        if (board != null && board.message() != null) {
+            game.changeColor(board.messageColor());
+            game.drawCenteredBoldText(game.width() / 2, 460, board.message(), "Arial", 30);
         }
     }
 
     public static void handlePlayingKeyPress(Game game, KeyEvent event) {
-        if (game.gameOver || game.isFlippingInProgress) {
+        handleKey(game, event.getKeyCode(), event.getKeyChar());
+    }
+
+    // Handles a key typed on the keyboard or clicked on screen
+    static void handleKey(Game game, int keyCode, char eventChar) {
+        if (game.gameOver) {
+            return;
+        }
+        char keyChar = Character.toUpperCase(eventChar);
+        if (!isBoardKey(keyCode, keyChar)) {
+            return;
+        }
+        if (game.isFlippingInProgress) {
+            holdKey(keyCode, eventChar);
             return;
         }
 
-        char keyChar = Character.toUpperCase(event.getKeyChar());
+        if (keyChar == '?') {
+            game.requestHint();
+            return;
+        }
+
+        // Any change to the guess makes a pending hint stale
+        game.cancelHint();
+
         if (Character.isLetter(keyChar) && game.currentBox < game.letterCount) {
             game.letters[game.currentLine][game.currentBox] = keyChar;
+            markBoxDirty(game, game.currentLine, game.currentBox);
             game.currentBox++;
             game.invalidWord = false;
-        } else if (event.getKeyCode() == KeyEvent.VK_BACK_SPACE && game.currentBox > 0) {
+            markMessageDirty(game);
+        } else if (keyCode == KeyEvent.VK_BACK_SPACE && game.currentBox > 0) {
             game.currentBox--;
             game.letters[game.currentLine][game.currentBox] = '\0';
+            markBoxDirty(game, game.currentLine, game.currentBox);
             game.invalidWord = false;
-        } else if (event.getKeyCode() == KeyEvent.VK_ENTER && game.currentBox == game.letterCount) {
+            markMessageDirty(game);
+        } else if (keyCode == KeyEvent.VK_ENTER && game.currentBox == game.letterCount) {
             String guess = new String(game.letters[game.currentLine]).trim().toUpperCase();
             if (game.allowableWords.contains(guess)) {
                 game.invalidWord = false;
                 game.determineBoxColors();
                 startFlipping(game);
                 game.calculateRemainingOptions();
+                markKeyboardDirty(game);
             } else {
                 game.invalidWord = true;
             }
+            markMessageDirty(game);
         }
     }
 
-    public static void handleMouseClick(Game game, MouseEvent event) {
-        Point point = event.getPoint();
-        for (Map.Entry<Rectangle, Character> entry : game.keyBounds.entrySet()) {
-            if (entry.getKey().contains(point)) {
-                char keyChar = entry.getValue();
-                if (keyChar == '<') {
-                    handlePlayingKeyPress(game, new KeyEvent(game.mFrame, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, KeyEvent.VK_BACK_SPACE, KeyEvent.CHAR_UNDEFINED));
-                } else if (keyChar == '\n') {
-                    handlePlayingKeyPress(game, new KeyEvent(game.mFrame, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, KeyEvent.VK_ENTER, KeyEvent.CHAR_UNDEFINED));
-                } else {
-                    handlePlayingKeyPress(game, new KeyEvent(game.mFrame, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, KeyEvent.VK_UNDEFINED, keyChar));
-                }
-                break;
-            }
+    // Letters, Backspace, Enter and ?, the keys that edit the board or ask for a hint
+    private static boolean isBoardKey(int keyCode, char keyChar) {
+        return Character.isLetter(keyChar) || keyChar == '?'
+                || keyCode == KeyEvent.VK_BACK_SPACE || keyCode == KeyEvent.VK_ENTER;
+    }
+
+    private static void holdKey(int keyCode, char keyChar) {
+        if (heldKeys < MAX_HELD_KEYS) {
+            heldKeyCodes[heldKeys] = keyCode;
+            heldKeyChars[heldKeys] = keyChar;
+            heldKeys++;
         }
     }
 
-    public static void updateFlipping(Game game, double dt) {
-        for (int line = 0; line < 6; line++) {
-            for (int i = 0; i < game.letterCount; i++) {
-                if (game.isFlipping[line][i]) {
-                    game.flipProgress[line][i] += 2 * dt;  // Adjust the flipping speed here
-                    if (game.flipProgress[line][i] >= 1) {
-                        game.flipProgress[line][i] = 1;
-                        game.isFlipping[line][i] = false;
-                        game.isSolid[line][i] = true;
-                    }
-                }
+    // Applies the keys held during the last flip. A held Enter can start the
+    // next flip, the keys after it are held again until that one finishes.
+    private static void replayHeldKeys(Game game) {
+        int count = heldKeys;
+        heldKeys = 0;
+        for (int i = 0; i < count; i++) {
+            if (game.isFlippingInProgress) {
+                System.arraycopy(heldKeyCodes, i, heldKeyCodes, 0, count - i);
+                System.arraycopy(heldKeyChars, i, heldKeyChars, 0, count - i);
+                heldKeys = count - i;
+                return;
             }
+            handleKey(game, heldKeyCodes[i], heldKeyChars[i]);
         }
-        game.isFlippingInProgress = checkFlippingInProgress(game);
     }
 
+    static void clearHeldKeys() {
+        heldKeys = 0;
+    }
+
+    // Number of keys waiting for the current flip to finish
+    static int heldKeyCount() {
+        return heldKeys;
+    }
+
+    public static void handleMouseClick(Game game, MouseEvent event) {
+        char key = keyboard.keyAt(event.getX(), event.getY());
+        if (key == OnScreenKeyboard.BACK_SPACE) {
+            handleKey(game, KeyEvent.VK_BACK_SPACE, KeyEvent.CHAR_UNDEFINED);
+        } else if (key == OnScreenKeyboard.ENTER) {
+            handleKey(game, KeyEvent.VK_ENTER, KeyEvent.CHAR_UNDEFINED);
+        } else if (key != 0) {
+            handleKey(game, KeyEvent.VK_UNDEFINED, key);
+        }
+    }
+
+    // Flips the boxes of the current line over one after another, then moves
+    // on to the next line once the last one has finished
     private static void startFlipping(Game game) {
         game.isFlippingInProgress = true;
-        new Thread(() -> {
-            try {
-                for (int i = 0; i < game.letterCount; i++) {
-                    game.playAudio(game.loadAudio("Resources/Sounds/cardFlip.wav"));
-                    game.isFlipping[game.currentLine][i] = true;
-                    game.flipProgress[game.currentLine][i] = 0;
-                    Thread.sleep(500);  // Control the delay between flips here
-                }
-                game.isFlippingInProgress = false;
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
+        int line = game.currentLine;
+        Scheduler.Sequence reveal = game.scheduler().sequence();
+        for (int i = 0; i < game.letterCount; i++) {
+            int box = i;
+            reveal.then(() -> {
+                game.sounds.play(game.flipSound);
+                game.isFlipping[line][box] = true;
+                game.flipProgress[line][box] = 0;
+            }).tween(1 / FLIP_SPEED, progress -> {
+                game.flipProgress[line][box] = progress;
+                markBoxDirty(game, line, box);
+            }).then(() -> {
+                game.isFlipping[line][box] = false;
+                game.isSolid[line][box] = true;
+            });
+        }
+        reveal.then(() -> {
+            game.isFlippingInProgress = false;
             game.currentBox = 0;
             game.currentLine++;
+            replayHeldKeys(game);
         }).start();
     }
-
-    private static boolean checkFlippingInProgress(Game game) {
-        for (int line = 0; line < 6; line++) {
-            for (int i = 0; i < game.letterCount; i++) {
-                if (game.isFlipping[line][i]) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
 }
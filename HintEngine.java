@@ -0,0 +1,291 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+// Finds the guess with the highest expected information (entropy of the
+// feedback pattern distribution) against the remaining candidates.
+// Every allowable word is scored against every candidate, so the search is
+// split across a fork-join pool and runs off the Swing event thread.
+//
+// The opening hint is the slowest (every word against every word) and the
+// same for every game, so it is kept in Resources/<n>letter.opening next to
+// the word list: one line of "<wordCount> <checksum> <WORD>". A missing or
+// out of date file is recomputed and rewritten on first use.
+//
+// Generate with: java HintEngine [lengths...]
+public class HintEngine {
+    private static final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private static final int GUESSES_PER_TASK = 128;
+
+    // The opening hint only depends on the dictionary, so it is worked out once
+    private static final Map<Dictionary, Integer> openings = new ConcurrentHashMap<>();
+
+    private HintEngine() {}
+
+    public static void main(String[] args) throws IOException {
+        int[] lengths = {4, 5, 6};
+        if (args.length > 0) {
+            lengths = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                lengths[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        for (int length : lengths) {
+            Dictionary dictionary = DictionaryRegistry.get(length);
+            CandidateSet candidates = new CandidateSet();
+            candidates.reset(dictionary);
+            long start = System.nanoTime();
+            int best = new Search(candidates, new Request()).search();
+            saveOpening(dictionary, best);
+            System.out.printf("Generated %s: %s in %.1f s%n", openingPath(length), dictionary.wordAt(best),
+                    (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    // A running hint search, cancel() stops it at the next guess boundary
+    public static class Request {
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        private volatile int bestIndex = -1;
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        // Dictionary index of the suggested guess, -1 until the search is done
+        public int bestIndex() {
+            return bestIndex;
+        }
+    }
+
+    // Starts searching for the best guess against a snapshot of candidates,
+    // poll the request's isDone() for the result
+    public static Request suggest(CandidateSet candidates) {
+        return suggest(candidates, request -> {});
+    }
+
+    // Starts searching for the best guess against a snapshot of candidates.
+    // onResult is called with the finished request on a pool thread, unless
+    // the request is cancelled first.
+    public static Request suggest(CandidateSet candidates, Consumer<Request> onResult) {
+        Request request = new Request();
+        Search search = new Search(candidates, request);
+        pool.execute(() -> {
+            try {
+                request.bestIndex = search.run();
+                if (!request.cancelled) {
+                    onResult.accept(request);
+                }
+            } catch (CancellationException e) {
+                // Superseded by a newer guess
+            } finally {
+                request.done = true;
+            }
+        });
+        return request;
+    }
+
+    // Finds the best guess on the calling thread (and the pool), used by headless code
+    public static int bestGuess(CandidateSet candidates) {
+        return new Search(candidates, new Request()).run();
+    }
+
+    // Everything a search needs, copied up front so the game can keep narrowing its own CandidateSet
+    private static class Search {
+        final Dictionary dictionary;
+        final FeedbackMatrix matrix;
+        final int[] answers; // dictionary indices of the remaining candidates
+        final int[] codes; // packed code of every dictionary word, read once instead of per pair
+        final int[] answerCodes; // packed codes of the remaining candidates
+        final boolean[] isCandidate;
+        final boolean opening;
+        final Request request;
+
+        Search(CandidateSet candidates, Request request) {
+            this.dictionary = candidates.dictionary();
+            this.matrix = candidates.matrix();
+            this.request = request;
+            this.answers = new int[candidates.size()];
+            this.isCandidate = new boolean[dictionary.size()];
+            this.codes = new int[dictionary.size()];
+            this.answerCodes = new int[answers.length];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = dictionary.codeAt(i);
+            }
+            for (int i = 0; i < answers.length; i++) {
+                answers[i] = candidates.indexAt(i);
+                answerCodes[i] = codes[answers[i]];
+                isCandidate[answers[i]] = true;
+            }
+            this.opening = answers.length == dictionary.size();
+        }
+
+        int run() {
+            // With one or two words left the best play is to just guess one of them
+            if (answers.length <= 2) {
+                return answers.length == 0 ? -1 : answers[0];
+            }
+
+            if (!opening) {
+                return search();
+            }
+
+            Integer cached = openings.get(dictionary);
+            if (cached == null) {
+                cached = loadOpening(dictionary);
+            }
+            if (cached < 0) {
+                cached = search();
+                saveOpening(dictionary, cached);
+            }
+            openings.put(dictionary, cached);
+            return cached;
+        }
+
+        // Scores every word against the candidates on the pool
+        int search() {
+            Best best = pool.invoke(new GuessRange(this, 0, dictionary.size()));
+            if (request.cancelled) {
+                throw new CancellationException();
+            }
+            return best.index;
+        }
+    }
+
+    static Path openingPath(int letterCount) {
+        return Paths.get("Resources", letterCount + "letter.opening");
+    }
+
+    // Dictionary index of the saved opening hint, or -1 if there is no up to date file
+    private static int loadOpening(Dictionary dictionary) {
+        Path file = openingPath(dictionary.letterCount());
+        if (!Files.exists(file)) {
+            return -1;
+        }
+        try {
+            String[] fields = new String(Files.readAllBytes(file), StandardCharsets.US_ASCII).trim().split(" ");
+            if (fields.length != 3 || Integer.parseInt(fields[0]) != dictionary.size()
+                    || Integer.parseInt(fields[1]) != dictionary.checksum()) {
+                // Saved for a different word list, work it out again
+                return -1;
+            }
+            return fields[2].length() == dictionary.letterCount() ? dictionary.indexOf(Dictionary.encode(fields[2])) : -1;
+        } catch (IOException | NumberFormatException e) {
+            System.out.println("Warning: could not read " + file + ": " + e.getMessage());
+            return -1;
+        }
+    }
+
+    private static void saveOpening(Dictionary dictionary, int index) {
+        Path file = openingPath(dictionary.letterCount());
+        String line = dictionary.size() + " " + dictionary.checksum() + " " + dictionary.wordAt(index) + "\n";
+        try {
+            Files.write(file, line.getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            // Resources may be read-only, the hint is still cached for this run
+            System.out.println("Warning: could not write " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static class Best {
+        final int index;
+        final double score;
+
+        Best(int index, double score) {
+            this.index = index;
+            this.score = score;
+        }
+
+        Best max(Best other) {
+            return other.score > score || (other.score == score && other.index < index) ? other : this;
+        }
+    }
+
+    // Scores the guesses in [from, to), splitting the range until it is small enough
+    private static class GuessRange extends RecursiveTask<Best> {
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final int from;
+        private final int to;
+
+        GuessRange(Search search, int from, int to) {
+            this.search = search;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Best compute() {
+            if (to - from > GUESSES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                GuessRange left = new GuessRange(search, from, mid);
+                left.fork();
+                Best right = new GuessRange(search, mid, to).compute();
+                return right.max(left.join());
+            }
+
+            Dictionary dictionary = search.dictionary;
+            FeedbackMatrix matrix = search.matrix;
+            int[] answers = search.answers;
+            int[] answerCodes = search.answerCodes;
+            int letterCount = dictionary.letterCount();
+            int[] counts = new int[Feedback.patternCount(letterCount)];
+            double logTotal = Math.log(answers.length);
+
+            int bestIndex = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int guess = from; guess < to; guess++) {
+                if (search.request.cancelled) {
+                    break;
+                }
+
+                Arrays.fill(counts, 0);
+                if (matrix != null) {
+                    for (int answer : answers) {
+                        counts[matrix.pattern(guess, answer)]++;
+                    }
+                } else {
+                    int guessCode = search.codes[guess];
+                    for (int answerCode : answerCodes) {
+                        counts[Feedback.score(guessCode, answerCode, letterCount)]++;
+                    }
+                }
+
+                double sum = 0;
+                for (int count : counts) {
+                    if (count > 1) {
+                        sum += count * Math.log(count);
+                    }
+                }
+                double entropy = logTotal - sum / answers.length;
+
+                // Prefer a word that could itself be the answer when the information is equal
+                double score = entropy + (search.isCandidate[guess] ? 1e-9 : 0);
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestIndex = guess;
+                }
+            }
+            return new Best(bestIndex, bestScore);
+        }
+    }
+}
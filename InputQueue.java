@@ -0,0 +1,80 @@
+import java.awt.AWTEvent;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Key and mouse button events on their way from the event dispatch thread to
+// the game loop. Events are stamped with the time they arrived and held in a
+// fixed size ring buffer with one writer (the EDT) and one reader (the update
+// tick), so neither side ever locks or allocates.
+public class InputQueue {
+    private final int mask;
+    private final AWTEvent[] events;
+    private final long[] times;
+    private final AtomicLong head = new AtomicLong(); // next slot to read
+    private final AtomicLong tail = new AtomicLong(); // next slot to write
+    private final AtomicLong dropped = new AtomicLong();
+
+    public InputQueue() {
+        this(256);
+    }
+
+    // capacity is rounded up to a power of two
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        mask = size - 1;
+        events = new AWTEvent[size];
+        times = new long[size];
+    }
+
+    // Adds an event, returns false and drops it if the queue is full.
+    // Must only be called from one thread.
+    public boolean offer(AWTEvent event, long nanos) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        int slot = (int) (t & mask);
+        events[slot] = event;
+        times[slot] = nanos;
+
+        // Publish the slot after it has been written
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    // The oldest event, or null if there is none. Call peekTime() for when
+    // it arrived, then poll() to remove it. Only the reading thread may call
+    // these three.
+    public AWTEvent peek() {
+        long h = head.get();
+        return h == tail.get() ? null : events[(int) (h & mask)];
+    }
+
+    public long peekTime() {
+        return times[(int) (head.get() & mask)];
+    }
+
+    public void poll() {
+        long h = head.get();
+        if (h == tail.get()) {
+            return;
+        }
+        events[(int) (h & mask)] = null;
+
+        // Hand the slot back to the writer once it has been cleared
+        head.lazySet(h + 1);
+    }
+
+    // Number of events dropped because the queue was full
+    public long dropped() {
+        return dropped.get();
+    }
+}
@@ -1,14 +1,14 @@
 import java.awt.Color;
-import java.awt.Image;
 import java.awt.event.KeyEvent;
-import java.util.ArrayList;
-import java.util.List;
+import java.awt.image.BufferedImage;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 
 public class Menu {
     private static Sprite idleSprite;
     private static Sprite runSprite;
     private static Sprite jumpSprite;
+    private static volatile boolean spritesLoaded = false; // the mini-game waits for its sprites
     private static boolean isRunning = false;
     private static boolean isJumping = false;
     private static boolean isGameOver = false;
@@ -18,27 +18,44 @@ public class Menu {
     private static double gravity = 600; // Gravity pulling the character down
     private static double jumpYPosition = 0; // Current vertical position of the jump
     private static final double MAX_JUMP_TIME = 1.1;
-    private static List<Obstacle> obstacles = new ArrayList<>();
+    private static ObstaclePool obstacles = new ObstaclePool();
     private static double obstacleSpawnTimer = 0;
     private static double obstacleSpawnInterval = 1.2; // Minimum interval between obstacles
     private static double obstacleSpeed = 200; // Initial speed of obstacles
     private static int score = 0;
+    private static int scoreTextValue = -1; // score the score labels were built for
+    private static String scoreText, gameOverText;
     private static double timeAlive = 0;
     private static Random rand = new Random();
 
-    public static void init(Game game) {
-        Image idleSheet = game.loadImage("Resources/Pictures/Idle_2.png");
-        Image runSheet = game.loadImage("Resources/Pictures/Run.png");
-        Image jumpSheet = game.loadImage("Resources/Pictures/Jump.png");
-
-        idleSprite = new Sprite(idleSheet, 128, 128, 7, 0.2);
-        runSprite = new Sprite(runSheet, 128, 128, 8, 0.07);
-        jumpSprite = new Sprite(jumpSheet, 128, 128, 12, 0.08);
+    // Starts loading the sprites in the background, the menu is drawn without
+    // them until they are ready. The returned future completes at that point.
+    public static CompletableFuture<Void> init(Game game) {
+        CompletableFuture<BufferedImage> idleSheet = AssetManager.image("Resources/Pictures/Idle_2.png");
+        CompletableFuture<BufferedImage> runSheet = AssetManager.image("Resources/Pictures/Run.png");
+        CompletableFuture<BufferedImage> jumpSheet = AssetManager.image("Resources/Pictures/Jump.png");
+
+        return CompletableFuture.allOf(idleSheet, runSheet, jumpSheet).thenRun(() -> {
+            // All the frames go into one atlas, at the size they are drawn
+            SpriteAtlas atlas = new SpriteAtlas();
+            idleSprite = new Sprite(atlas, idleSheet.join(), 128, 128, 7, 0.2);
+            runSprite = new Sprite(atlas, runSheet.join(), 128, 128, 8, 0.07);
+            jumpSprite = new Sprite(atlas, jumpSheet.join(), 128, 128, 12, 0.08);
+            atlas.pack();
+            spritesLoaded = true;
+            game.markDirty();
+        });
     }
 
     public static void update(Game game, double dt) {
+        if (!spritesLoaded) {
+            return;
+        }
+
         if (isGameOver) {
-            idleSprite.update(dt);
+            if (idleSprite.update(dt)) {
+                markSpriteDirty(game);
+            }
             return;
         }
 
@@ -55,12 +72,8 @@ public class Menu {
                 obstacleSpeed += 10; // Increase obstacle speed gradually
             }
 
-            for (Obstacle obstacle : obstacles) {
-                obstacle.update(dt);
-            }
-
-            // Remove off-screen obstacles
-            obstacles.removeIf(Obstacle::isOffScreen);
+            // Move obstacles, dropping the ones that are off screen
+            obstacles.update(dt);
 
             // Check for collisions
             int playerX = game.width() / 2 - 10; // Adjust collision box to the middle 20 pixels of the sprite
@@ -68,17 +81,15 @@ public class Menu {
             int playerWidth = 20; // Width of the collision box
             int playerHeight = 128;
 
-            for (Obstacle obstacle : obstacles) {
-                if (obstacle.collidesWith(playerX, playerY, playerWidth, playerHeight)) {
-                    isGameOver = true;
-                    isPlaying = false;
-                    isRunning = false;
-                    isJumping = false;
-                    jumpYPosition = 0;
-                    obstacles.clear();
-                    idleSprite.reset();
-                    break;
-                }
+            if (obstacles.firstCollision(playerX, playerY, playerWidth, playerHeight) >= 0) {
+                isGameOver = true;
+                isPlaying = false;
+                isRunning = false;
+                isJumping = false;
+                jumpYPosition = 0;
+                obstacles.clear();
+                idleSprite.reset();
+                game.markDirty();
             }
         }
 
@@ -99,18 +110,28 @@ public class Menu {
             }
         } else if (isRunning) {
             runSprite.update(dt);
-        } else {
-            idleSprite.update(dt);
+        } else if (idleSprite.update(dt)) {
+            markSpriteDirty(game);
+        }
+
+        // Obstacles, score and the runner all move while playing
+        if (isPlaying) {
+            game.markDirty();
         }
     }
 
+    // Marks the area the standing sprite is drawn in for redrawing
+    private static void markSpriteDirty(Game game) {
+        game.markDirty(game.width() / 2 - 64, game.height() - 128, 128, 128);
+    }
+
     private static void spawnObstacle(Game game) {
         int startY = game.height() - 30; // Position along the bottom of the screen
         int width = 20;
         int height = 30; // Height of the obstacles
         double speed = obstacleSpeed;
         int startX = game.width();
-        obstacles.add(new Obstacle(startX, startY, width, height, speed));
+        obstacles.spawn(startX, startY, width, height, speed);
     }
 
     public static void drawMenu(Game game) {
@@ -125,17 +146,22 @@ public class Menu {
         game.drawCenteredBoldText(game.width() / 2, game.height() - 150, "Press SPACE to Start Running", "Arial", 20);
 
         if (isGameOver) {
-            game.drawCenteredBoldText(game.width() / 2, game.height() - 120, "Game Over! Score: " + score, "Arial", 16);
+            updateScoreText();
+            game.drawCenteredBoldText(game.width() / 2, game.height() - 120, gameOverText, "Arial", 16);
             game.drawCenteredBoldText(game.width() / 2, game.height() - 100, "Press SPACE to Restart", "Arial", 16);
         }
 
-        Image currentFrame;
+        if (!spritesLoaded) {
+            return;
+        }
+
+        Sprite currentSprite;
         if (isJumping) {
-            currentFrame = jumpSprite.getCurrentFrame();
+            currentSprite = jumpSprite;
         } else if (isRunning) {
-            currentFrame = runSprite.getCurrentFrame();
+            currentSprite = runSprite;
         } else {
-            currentFrame = idleSprite.getCurrentFrame();
+            currentSprite = idleSprite;
         }
 
         // Adjust the Y position based on jump
@@ -148,23 +174,32 @@ public class Menu {
         if (isJumping) {
             xOffset = 56;
         }
-        game.drawImage(currentFrame, game.width() / 2 - xOffset, adjustedY, 128, 128);
+        currentSprite.draw(game, game.width() / 2 - xOffset, adjustedY);
 
-        // Draw obstacles
+        // Draw obstacles straight from the pool, all in one fill
         game.changeColor(game.red);
-        for (Obstacle obstacle : obstacles) {
-            game.drawSolidRectangle(obstacle.getX(), obstacle.getY(), obstacle.getWidth(), obstacle.getHeight());
-        }
+        game.drawSolidRectangles(obstacles.x(), obstacles.y(), obstacles.width(), obstacles.height(), obstacles.size());
 
         // Draw score
         if (isPlaying) {
             game.changeColor(game.blue);
-            game.drawText(400, game.height() - 120, "Score: " + score, "Arial", 16);
+            updateScoreText();
+            game.drawText(400, game.height() - 120, scoreText, "Arial", 16);
+        }
+    }
+
+    // The score only changes ten times a second, so only rebuild its labels then
+    private static void updateScoreText() {
+        if (scoreTextValue != score) {
+            scoreTextValue = score;
+            scoreText = "Score: " + score;
+            gameOverText = "Game Over! Score: " + score;
         }
     }
 
     public static void keyPressed(Game game, KeyEvent event) {
-        if (event.getKeyCode() == KeyEvent.VK_SPACE) {
+        if (event.getKeyCode() == KeyEvent.VK_SPACE && spritesLoaded) {
+            game.markDirty();
             if (isGameOver || !isPlaying) {
                 isGameOver = false;
                 isPlaying = true;
@@ -201,6 +236,8 @@ public class Menu {
         jumpVelocity = -250;
         jumpYPosition = 0;
         obstacles.clear();
-        idleSprite.reset();
+        if (spritesLoaded) {
+            idleSprite.reset();
+        }
     }
 }
@@ -0,0 +1,125 @@
+import java.io.File;
+import java.io.IOException;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.FloatControl;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+// Plays a long track on loop by streaming it from disk into a SourceDataLine
+// on a background thread, a few kilobytes at a time. Unlike AudioClip, which
+// decodes the whole file onto the heap, memory use stays the same however
+// long the track is. At the end of the file the stream is reopened while the
+// line is still playing out its buffer, so the loop has no gap.
+public class MusicStream {
+    private static final int LINE_BUFFER_BYTES = 64 * 1024;
+    private static final int CHUNK_BYTES = 8 * 1024;
+
+    private final String filename;
+    private volatile float volume = 0;
+    private volatile boolean playing = false;
+    private Thread thread;
+
+    public MusicStream(String filename) {
+        this.filename = filename;
+    }
+
+    // Starts playing from the beginning of the track
+    public synchronized void start() {
+        if (thread != null && thread.isAlive()) {
+            return;
+        }
+        playing = true;
+        thread = new Thread(this::run, "Music " + filename);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Stops playing, returns once the line has been closed
+    public void stop() {
+        Thread stopping;
+        synchronized (this) {
+            stopping = thread;
+            thread = null;
+            playing = false;
+        }
+        if (stopping != null) {
+            try {
+                stopping.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    // Sets the volume in decibels, applied from the next chunk
+    public void setVolume(float volume) {
+        this.volume = volume;
+    }
+
+    public float getVolume() {
+        return volume;
+    }
+
+    private void run() {
+        AudioInputStream stream = null;
+        try {
+            stream = open();
+            AudioFormat format = stream.getFormat();
+            int frameSize = Math.max(1, format.getFrameSize());
+            byte[] chunk = new byte[CHUNK_BYTES - CHUNK_BYTES % frameSize];
+
+            try (SourceDataLine line = AudioSystem.getSourceDataLine(format)) {
+                line.open(format, LINE_BUFFER_BYTES - LINE_BUFFER_BYTES % frameSize);
+                FloatControl gain = line.isControlSupported(FloatControl.Type.MASTER_GAIN)
+                        ? (FloatControl) line.getControl(FloatControl.Type.MASTER_GAIN) : null;
+                float applied = Float.NaN;
+                line.start();
+
+                while (playing) {
+                    float wanted = volume;
+                    if (gain != null && wanted != applied) {
+                        gain.setValue(Math.max(gain.getMinimum(), Math.min(gain.getMaximum(), wanted)));
+                        applied = wanted;
+                    }
+
+                    int read = stream.read(chunk, 0, chunk.length);
+                    if (read < 0) {
+                        // Loop back to the start
+                        stream.close();
+                        stream = open();
+                        continue;
+                    }
+
+                    // Blocks while the line's buffer is full
+                    line.write(chunk, 0, read - read % frameSize);
+                }
+
+                line.stop();
+                line.flush();
+            }
+        } catch (IOException | UnsupportedAudioFileException | LineUnavailableException | IllegalArgumentException e) {
+            System.out.println("Error: cannot stream " + filename + ": " + e.getMessage());
+        } finally {
+            playing = false;
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                    // Nothing left to do with it
+                }
+            }
+        }
+    }
+
+    private AudioInputStream open() throws IOException, UnsupportedAudioFileException {
+        return AudioSystem.getAudioInputStream(new File(filename));
+    }
+}
@@ -0,0 +1,168 @@
+import java.util.Arrays;
+
+// The mini-game's obstacles as parallel arrays of coordinates, sizes and
+// speeds instead of one object each. Spawning reuses the arrays, which only
+// grow when more obstacles are alive at once than ever before, so a running
+// game allocates nothing.
+//
+// The obstacles are kept sorted by x (a sweep along the direction they move
+// in). Obstacles that have left the screen are then all near the front, and a
+// collision test only looks at the few whose x range can overlap the box.
+public class ObstaclePool {
+    private double[] x;
+    private double[] y;
+    private double[] width;
+    private double[] height;
+    private double[] speed;
+    private int count = 0;
+    private double maxWidth = 0; // widest obstacle since the last clear
+
+    public ObstaclePool() {
+        this(16);
+    }
+
+    public ObstaclePool(int capacity) {
+        x = new double[capacity];
+        y = new double[capacity];
+        width = new double[capacity];
+        height = new double[capacity];
+        speed = new double[capacity];
+    }
+
+    public void spawn(double startX, double startY, double w, double h, double v) {
+        if (count == x.length) {
+            int capacity = Math.max(16, 2 * count);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            width = Arrays.copyOf(width, capacity);
+            height = Arrays.copyOf(height, capacity);
+            speed = Arrays.copyOf(speed, capacity);
+        }
+        x[count] = startX;
+        y[count] = startY;
+        width[count] = w;
+        height[count] = h;
+        speed[count] = v;
+        maxWidth = Math.max(maxWidth, w);
+        count++;
+        sort();
+    }
+
+    // Moves every obstacle left and drops the ones that are off screen
+    public void update(double dt) {
+        for (int i = 0; i < count; i++) {
+            // Whole pixels, as the obstacles have always moved
+            x[i] = (int) (x[i] - speed[i] * dt);
+        }
+
+        // Faster obstacles can overtake slower ones
+        sort();
+
+        // Only obstacles starting left of the screen can have left it
+        int edge = lowerBound(0);
+        int kept = 0;
+        for (int i = 0; i < edge; i++) {
+            if (x[i] + width[i] >= 0) {
+                move(i, kept++);
+            }
+        }
+        if (kept < edge) {
+            remove(kept, edge - kept);
+        }
+    }
+
+    // Index of the first obstacle overlapping the box, or -1 if there is none
+    public int firstCollision(double boxX, double boxY, double boxWidth, double boxHeight) {
+        // Nothing starting left of boxX - maxWidth can reach the box
+        for (int i = lowerBound(boxX - maxWidth); i < count && x[i] < boxX + boxWidth; i++) {
+            if (boxX < x[i] + width[i] && boxY < y[i] + height[i] && boxY + boxHeight > y[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public void clear() {
+        count = 0;
+        maxWidth = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // The backing arrays, valid for the first size() entries until the next
+    // spawn, e.g. to draw every obstacle with GameEngine.drawSolidRectangles
+    public double[] x() {
+        return x;
+    }
+
+    public double[] y() {
+        return y;
+    }
+
+    public double[] width() {
+        return width;
+    }
+
+    public double[] height() {
+        return height;
+    }
+
+    // First index with x >= value
+    private int lowerBound(double value) {
+        int low = 0, high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (x[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Insertion sort by x, which is close to linear as the order hardly changes between frames
+    private void sort() {
+        for (int i = 1; i < count; i++) {
+            if (x[i - 1] <= x[i]) {
+                continue;
+            }
+            double ox = x[i], oy = y[i], ow = width[i], oh = height[i], ov = speed[i];
+            int j = i - 1;
+            while (j >= 0 && x[j] > ox) {
+                x[j + 1] = x[j];
+                y[j + 1] = y[j];
+                width[j + 1] = width[j];
+                height[j + 1] = height[j];
+                speed[j + 1] = speed[j];
+                j--;
+            }
+            x[j + 1] = ox;
+            y[j + 1] = oy;
+            width[j + 1] = ow;
+            height[j + 1] = oh;
+            speed[j + 1] = ov;
+        }
+    }
+
+    private void move(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        width[to] = width[from];
+        height[to] = height[from];
+        speed[to] = speed[from];
+    }
+
+    // Removes n obstacles starting at index start
+    private void remove(int start, int n) {
+        int after = count - start - n;
+        System.arraycopy(x, start + n, x, start, after);
+        System.arraycopy(y, start + n, y, start, after);
+        System.arraycopy(width, start + n, width, start, after);
+        System.arraycopy(height, start + n, height, start, after);
+        System.arraycopy(speed, start + n, speed, start, after);
+        count -= n;
+    }
+}
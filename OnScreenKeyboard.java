@@ -0,0 +1,192 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+// The clickable keyboard under the board, coloured by what each guess has
+// revealed about its letters. The keys are drawn once into an offscreen layer
+// which is only redrawn when a letter's status changes, and clicks are looked
+// up in a grid holding the key under every pixel, so neither drawing a frame
+// nor clicking creates any garbage.
+public class OnScreenKeyboard {
+    // Letter statuses
+    public static final char UNUSED = 'U';
+    public static final char CORRECT = 'G';
+    public static final char PRESENT = 'Y';
+    public static final char ABSENT = 'B';
+
+    // Keys that are not letters
+    public static final char BACK_SPACE = '<';
+    public static final char ENTER = '\n';
+
+    static final String[] ROWS = {"QWERTYUIOP", "ASDFGHJKL", "ZXCVBNM"};
+    static final int TOP = 500;
+    static final int HEIGHT = 160;
+    static final int KEY_WIDTH = 40;
+    static final int KEY_HEIGHT = 50;
+    static final int KEY_SPACING = 5;
+    static final int ROW_SPACING = 55;
+    static final int WIDE_KEY_WIDTH = 60;
+    static final int FONT_SIZE = 25;
+
+    private final char[] status = new char[26];
+    private final Font font = new Font("Arial", Font.BOLD, FONT_SIZE);
+    private int version = 0;
+
+    // Offscreen layer and hit grid, built for layoutWidth at layerVersion
+    private BufferedImage layer;
+    private char[] keyAt = new char[0];
+    private int layoutWidth = -1;
+    private int layerVersion = -1;
+
+    public OnScreenKeyboard() {
+        clear();
+    }
+
+    // Marks every letter as not yet guessed
+    public void clear() {
+        Arrays.fill(status, UNUSED);
+        version++;
+    }
+
+    public char get(char letter) {
+        int index = letter - 'A';
+        return index >= 0 && index < 26 ? status[index] : UNUSED;
+    }
+
+    public void set(char letter, char newStatus) {
+        int index = letter - 'A';
+        if (index >= 0 && index < 26 && status[index] != newStatus) {
+            status[index] = newStatus;
+            version++;
+        }
+    }
+
+    // Copies the status of every letter into an array of 26 and returns the
+    // version they belong to, which changes whenever a status does
+    public int copyStatus(char[] into) {
+        System.arraycopy(status, 0, into, 0, status.length);
+        return version;
+    }
+
+    // Draws the keyboard as published in a board snapshot, redrawing the
+    // layer only if the window width or a letter's status has changed
+    public void draw(Game game, BoardSnapshot board) {
+        if (layoutWidth != game.width()) {
+            layout(game.width());
+        }
+        if (layerVersion != board.keyboardVersion()) {
+            render(board);
+        }
+        game.drawImage(layer, 0, TOP);
+    }
+
+    // Returns the key at (x, y) in window coordinates, or 0 if there is none
+    public char keyAt(int x, int y) {
+        if (layoutWidth < 0 || x < 0 || x >= layoutWidth || y < TOP || y >= TOP + HEIGHT) {
+            return 0;
+        }
+        return keyAt[(y - TOP) * layoutWidth + x];
+    }
+
+    private void layout(int width) {
+        layoutWidth = width;
+        keyAt = new char[width * HEIGHT];
+        layer = GameEngine.createCompatibleImage(width, HEIGHT);
+        layerVersion = -1;
+
+        int y = 0;
+        for (String row : ROWS) {
+            int x = rowX(width, row);
+            for (int i = 0; i < row.length(); i++) {
+                fillKey(x, y, KEY_WIDTH, row.charAt(i));
+                x += KEY_WIDTH + KEY_SPACING;
+            }
+            y += ROW_SPACING;
+        }
+        fillKey(backSpaceX(width), 2 * ROW_SPACING, WIDE_KEY_WIDTH, BACK_SPACE);
+        fillKey(enterX(width), 2 * ROW_SPACING, WIDE_KEY_WIDTH, ENTER);
+    }
+
+    private void fillKey(int x, int y, int width, char key) {
+        for (int row = Math.max(0, y); row < Math.min(HEIGHT, y + KEY_HEIGHT); row++) {
+            int start = row * layoutWidth;
+            for (int column = Math.max(0, x); column < Math.min(layoutWidth, x + width); column++) {
+                keyAt[start + column] = key;
+            }
+        }
+    }
+
+    private void render(BoardSnapshot board) {
+        layerVersion = board.keyboardVersion();
+
+        Graphics2D graphics = layer.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setBackground(new Color(0, 0, 0, 0));
+        graphics.clearRect(0, 0, layer.getWidth(), layer.getHeight());
+        graphics.setFont(font);
+        FontMetrics metrics = graphics.getFontMetrics();
+
+        int y = 0;
+        for (String row : ROWS) {
+            int x = rowX(layoutWidth, row);
+            for (int i = 0; i < row.length(); i++) {
+                char letter = row.charAt(i);
+                switch (board.keyStatus(letter)) {
+                    case CORRECT:
+                        graphics.setColor(Color.GREEN);
+                        break;
+                    case PRESENT:
+                        graphics.setColor(Color.YELLOW);
+                        break;
+                    case ABSENT:
+                        graphics.setColor(Color.GRAY);
+                        break;
+                    default:
+                        graphics.setColor(Color.LIGHT_GRAY);
+                        break;
+                }
+                graphics.fillRect(x, y, KEY_WIDTH, KEY_HEIGHT);
+
+                String text = String.valueOf(letter);
+                int letterWidth = metrics.stringWidth(text);
+                int letterHeight = metrics.getAscent();
+                graphics.setColor(Color.BLACK);
+                graphics.drawString(text, x + (KEY_WIDTH - letterWidth) / 2, y + (KEY_HEIGHT + letterHeight) / 2);
+
+                x += KEY_WIDTH + KEY_SPACING;
+            }
+            y += ROW_SPACING;
+        }
+
+        // Back space and enter keys either side of the bottom row
+        int backSpaceX = backSpaceX(layoutWidth);
+        graphics.setColor(Color.LIGHT_GRAY);
+        graphics.fillRect(backSpaceX, 2 * ROW_SPACING, WIDE_KEY_WIDTH, KEY_HEIGHT);
+        graphics.setColor(Color.BLACK);
+        graphics.drawString("\u232B", backSpaceX + (WIDE_KEY_WIDTH - FONT_SIZE) / 2, 2 * ROW_SPACING + (KEY_HEIGHT + FONT_SIZE) / 2 - 2);
+
+        int enterX = enterX(layoutWidth);
+        graphics.setColor(Color.LIGHT_GRAY);
+        graphics.fillRect(enterX, 2 * ROW_SPACING, WIDE_KEY_WIDTH, KEY_HEIGHT);
+        graphics.setColor(Color.BLACK);
+        graphics.drawString("\u23CE", enterX + (WIDE_KEY_WIDTH - FONT_SIZE) / 2, 2 * ROW_SPACING + (KEY_HEIGHT + FONT_SIZE) / 2);
+
+        graphics.dispose();
+    }
+
+    private static int rowX(int width, String row) {
+        return (width - row.length() * (KEY_WIDTH + KEY_SPACING)) / 2;
+    }
+
+    private static int backSpaceX(int width) {
+        return width / 2 - 223;
+    }
+
+    private static int enterX(int width) {
+        return width / 2 + 157;
+    }
+}
@@ -0,0 +1,192 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+// Timed actions and tweens stepped by the game's update loop. Everything runs
+// on the update thread, in game time, so animations need no threads of their
+// own and can be fast-forwarded by stepping through time without waiting.
+//
+// Time left over when a step of a sequence finishes is carried into the next
+// step, so long sequences do not drift with the frame rate. Tasks may be
+// scheduled from other threads, e.g. input handlers, but always run on the
+// thread calling update().
+public class Scheduler {
+    // Something scheduled, can be cancelled until it has finished
+    public abstract static class Task {
+        private volatile boolean cancelled = false;
+        private volatile boolean done = false;
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        // Moves on by dt seconds. Returns the time left over once the task
+        // has finished, or a negative number while it is still running.
+        abstract double step(double dt);
+    }
+
+    // Runs an action once a delay has passed
+    private static class Delay extends Task {
+        private double remaining;
+        private final Runnable action;
+
+        Delay(double delay, Runnable action) {
+            this.remaining = delay;
+            this.action = action;
+        }
+
+        @Override
+        double step(double dt) {
+            remaining -= dt;
+            if (remaining > 0) {
+                return -1;
+            }
+            if (action != null) {
+                action.run();
+            }
+            return -remaining;
+        }
+    }
+
+    // Passes progress from 0 to 1 over a duration, reaching exactly 1 at the end
+    private static class Tween extends Task {
+        private final double duration;
+        private final DoubleConsumer progress;
+        private double elapsed = 0;
+
+        Tween(double duration, DoubleConsumer progress) {
+            this.duration = duration;
+            this.progress = progress;
+        }
+
+        @Override
+        double step(double dt) {
+            elapsed += dt;
+            if (elapsed >= duration) {
+                progress.accept(1);
+                return elapsed - duration;
+            }
+            progress.accept(elapsed / duration);
+            return -1;
+        }
+    }
+
+    // Steps run one after another. Build it with then(), pause() and tween(),
+    // then start() it.
+    public class Sequence extends Task {
+        private final List<Task> steps = new ArrayList<>();
+        private int current = 0;
+
+        public Sequence then(Runnable action) {
+            return add(new Delay(0, action));
+        }
+
+        public Sequence pause(double seconds) {
+            return add(new Delay(seconds, null));
+        }
+
+        public Sequence tween(double duration, DoubleConsumer progress) {
+            return add(new Tween(duration, progress));
+        }
+
+        public Sequence start() {
+            schedule(this);
+            return this;
+        }
+
+        private Sequence add(Task step) {
+            steps.add(step);
+            return this;
+        }
+
+        @Override
+        double step(double dt) {
+            while (current < steps.size()) {
+                double left = steps.get(current).step(dt);
+                if (left < 0 || isCancelled()) {
+                    return -1;
+                }
+                current++;
+                dt = left;
+            }
+            return dt;
+        }
+    }
+
+    private final List<Task> tasks = new ArrayList<>();
+    private boolean updating = false; // tasks are being stepped, the list must keep its length
+
+    // Runs action once delay seconds have passed
+    public Task after(double delay, Runnable action) {
+        return schedule(new Delay(delay, action));
+    }
+
+    // Calls progress every step with 0 to 1 over duration seconds
+    public Task tween(double duration, DoubleConsumer progress) {
+        return schedule(new Tween(duration, progress));
+    }
+
+    public Sequence sequence() {
+        return new Sequence();
+    }
+
+    // Advances everything by dt seconds. Tasks scheduled while this runs
+    // start on the next update; tasks cancelled while this runs, including
+    // by cancelAll(), are skipped.
+    public synchronized void update(double dt) {
+        int count = tasks.size();
+        updating = true;
+        try {
+            for (int i = 0; i < count; i++) {
+                Task task = tasks.get(i);
+                if (!task.cancelled && !task.done && task.step(dt) >= 0) {
+                    task.done = true;
+                }
+            }
+        } finally {
+            updating = false;
+        }
+
+        // Drop finished tasks, keeping the order of the rest
+        int kept = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (!task.cancelled && !task.done) {
+                tasks.set(kept++, task);
+            }
+        }
+        tasks.subList(kept, tasks.size()).clear();
+    }
+
+    public synchronized void cancelAll() {
+        for (Task task : tasks) {
+            task.cancel();
+        }
+
+        // While updating the cancelled tasks are dropped once the step is over
+        if (!updating) {
+            tasks.clear();
+        }
+    }
+
+    public synchronized boolean isIdle() {
+        return tasks.isEmpty();
+    }
+
+    public synchronized int size() {
+        return tasks.size();
+    }
+
+    private synchronized <T extends Task> T schedule(T task) {
+        tasks.add(task);
+        return task;
+    }
+}
@@ -0,0 +1,96 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+// Headless batch runner: plays a Strategy against every word of a dictionary
+// in parallel and reports the guess distribution, failure rate and games per
+// second. Does not touch GameEngine, so no AWT, image or audio is loaded.
+//
+// Usage: java Simulator [letterCount] [strategy] [maxGuesses]
+//   strategy is "first", "entropy" or the name of a class implementing Strategy
+public class Simulator {
+    private final Dictionary dictionary;
+    private final Strategy strategy;
+    private final int maxGuesses;
+
+    // games[g - 1] = games solved in g guesses, games[maxGuesses] = failures
+    private final AtomicIntegerArray games;
+
+    public Simulator(Dictionary dictionary, Strategy strategy, int maxGuesses) {
+        this.dictionary = dictionary;
+        this.strategy = strategy;
+        this.maxGuesses = maxGuesses;
+        this.games = new AtomicIntegerArray(maxGuesses + 1);
+    }
+
+    public static void main(String[] args) throws IOException, ReflectiveOperationException {
+        int letterCount = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Strategy strategy = Strategy.forName(args.length > 1 ? args[1] : "first");
+        int maxGuesses = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+
+        Dictionary dictionary = DictionaryRegistry.get(letterCount);
+        Simulator simulator = new Simulator(dictionary, strategy, maxGuesses);
+
+        long start = System.nanoTime();
+        simulator.playAll();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        simulator.report(System.out, seconds);
+    }
+
+    // Plays one game against every word in the dictionary
+    public void playAll() {
+        ThreadLocal<CandidateSet> candidates = ThreadLocal.withInitial(CandidateSet::new);
+        IntStream.range(0, dictionary.size()).parallel().forEach(target -> {
+            int guesses = play(candidates.get(), dictionary.codeAt(target));
+            games.incrementAndGet(guesses > 0 ? guesses - 1 : maxGuesses);
+        });
+    }
+
+    // Returns the number of guesses needed, or 0 if the word was not found within maxGuesses
+    int play(CandidateSet candidates, int targetCode) {
+        int letterCount = dictionary.letterCount();
+        candidates.reset(dictionary);
+        for (int turn = 0; turn < maxGuesses; turn++) {
+            int guessCode = dictionary.codeAt(strategy.nextGuess(candidates, turn));
+            int pattern = Feedback.score(guessCode, targetCode, letterCount);
+            if (pattern == Feedback.solved(letterCount)) {
+                return turn + 1;
+            }
+            candidates.narrow(guessCode, pattern);
+        }
+        return 0;
+    }
+
+    public int gamesPlayed() {
+        int total = 0;
+        for (int i = 0; i < games.length(); i++) {
+            total += games.get(i);
+        }
+        return total;
+    }
+
+    public int gamesSolvedIn(int guesses) {
+        return games.get(guesses - 1);
+    }
+
+    public int failures() {
+        return games.get(maxGuesses);
+    }
+
+    void report(PrintStream out, double seconds) {
+        int total = gamesPlayed();
+        long guessSum = 0;
+        out.printf("%d letter words, %s, %d games%n", dictionary.letterCount(), strategy.getClass().getSimpleName(), total);
+        for (int g = 1; g <= maxGuesses; g++) {
+            int count = gamesSolvedIn(g);
+            guessSum += (long) g * count;
+            out.printf("  %-11s %6d (%5.2f%%)%n", g + (g == 1 ? " guess:" : " guesses:"), count, 100.0 * count / total);
+        }
+        int solved = total - failures();
+        out.printf("  %-11s %6d (%5.2f%%)%n", "failed:", failures(), 100.0 * failures() / total);
+        out.printf("  average guesses when solved: %.3f%n", solved == 0 ? 0 : (double) guessSum / solved);
+        out.printf("  %.2f s, %.0f games/s%n", seconds, total / seconds);
+    }
+}
@@ -0,0 +1,118 @@
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.FloatControl;
+
+// Short sound effects, each decoded from disk once and given a fixed pool of
+// pre-opened Clips ("voices") holding its samples. Playing a sound restarts
+// the next voice of its pool round robin, so it costs no I/O, no decoding and
+// no new Clip, and up to the pool size of the same sound can overlap.
+//
+// Load sounds up front with load(), then play them by the id it returns
+// from any thread.
+public class SoundBank {
+    private static class Sound {
+        final Clip[] voices;
+        final FloatControl[] gains;
+        final AtomicInteger next = new AtomicInteger();
+
+        Sound(Clip[] voices) {
+            this.voices = voices;
+            this.gains = new FloatControl[voices.length];
+            for (int i = 0; i < voices.length; i++) {
+                if (voices[i].isControlSupported(FloatControl.Type.MASTER_GAIN)) {
+                    gains[i] = (FloatControl) voices[i].getControl(FloatControl.Type.MASTER_GAIN);
+                }
+            }
+        }
+    }
+
+    // Replaced, never modified, when a sound is loaded so play() needs no lock
+    private volatile Sound[] sounds = new Sound[0];
+
+    // Decodes a sound file and opens voices for it. Returns the id to play
+    // it with; if the file or an audio device is missing the sound is silent.
+    public int load(String filename, int voiceCount) {
+        try (AudioInputStream stream = AudioSystem.getAudioInputStream(new File(filename))) {
+            return load(new GameEngine.AudioClip(stream.getFormat(), stream.readAllBytes()), voiceCount);
+        } catch (Exception e) {
+            System.out.println("Error: cannot load sound " + filename + ": " + e.getMessage());
+            return load((GameEngine.AudioClip) null, voiceCount);
+        }
+    }
+
+    // Opens voices for an already decoded sound (null for a silent one) and returns its id
+    public synchronized int load(GameEngine.AudioClip clip, int voiceCount) {
+        Clip[] voices = new Clip[0];
+        if (clip != null) {
+            try {
+                voices = new Clip[voiceCount];
+                for (int i = 0; i < voiceCount; i++) {
+                    voices[i] = AudioSystem.getClip();
+                    voices[i].open(clip.getAudioFormat(), clip.getData(), 0, (int) clip.getBufferSize());
+                }
+            } catch (Exception e) {
+                System.out.println("Error: cannot open voices for sound: " + e.getMessage());
+                closeAll(voices);
+                voices = new Clip[0];
+            }
+        }
+
+        Sound[] loaded = Arrays.copyOf(sounds, sounds.length + 1);
+        loaded[loaded.length - 1] = new Sound(voices);
+        sounds = loaded;
+        return loaded.length - 1;
+    }
+
+    // Plays a loaded sound from the start
+    public void play(int id) {
+        play(id, 0);
+    }
+
+    // Plays a loaded sound from the start with a volume in decibels.
+    // Ids that were never loaded are ignored.
+    public void play(int id, float volume) {
+        Sound[] loaded = sounds;
+        if (id < 0 || id >= loaded.length || loaded[id].voices.length == 0) {
+            return;
+        }
+
+        Sound sound = loaded[id];
+        int voice = nextVoice(sound);
+        FloatControl gain = sound.gains[voice];
+        if (gain != null) {
+            gain.setValue(Math.max(gain.getMinimum(), Math.min(gain.getMaximum(), volume)));
+        }
+        restart(sound.voices[voice]);
+    }
+
+    // Releases every voice, the bank cannot be used afterwards
+    public synchronized void close() {
+        for (Sound sound : sounds) {
+            closeAll(sound.voices);
+        }
+        sounds = new Sound[0];
+    }
+
+    private static int nextVoice(Sound sound) {
+        return Math.floorMod(sound.next.getAndIncrement(), sound.voices.length);
+    }
+
+    private static void restart(Clip clip) {
+        clip.stop();
+        clip.setFramePosition(0);
+        clip.start();
+    }
+
+    private static void closeAll(Clip[] clips) {
+        for (Clip clip : clips) {
+            if (clip != null) {
+                clip.close();
+            }
+        }
+    }
+}
@@ -1,29 +1,40 @@
 import java.awt.Image;
 
 public class Sprite {
-    private Image sheet;
-    private Image[] frames;
+    private SpriteAtlas atlas;
+    private int firstRegion;
     private int frameCount;
     private int currentFrame;
     private double frameDuration;
     private double animTime;
 
-    public Sprite(Image sheet, int frameWidth, int frameHeight, int frameCount, double frameDuration) {
-        this.sheet = sheet;
+    public Sprite(SpriteAtlas atlas, Image sheet, int frameWidth, int frameHeight, int frameCount, double frameDuration) {
+        this(atlas, sheet, frameWidth, frameHeight, frameCount, frameDuration, frameWidth, frameHeight);
+    }
+
+    // Adds the frames of the sheet to atlas, scaled to (drawWidth, drawHeight)
+    public Sprite(SpriteAtlas atlas, Image sheet, int frameWidth, int frameHeight, int frameCount, double frameDuration,
+                  int drawWidth, int drawHeight) {
+        this.atlas = atlas;
         this.frameCount = frameCount;
         this.frameDuration = frameDuration;
-        frames = new Image[frameCount];
 
         for (int i = 0; i < frameCount; i++) {
             int x = (i * frameWidth) % sheet.getWidth(null);
             int y = (i * frameWidth / sheet.getWidth(null)) * frameHeight;
-            frames[i] = GameEngine.subImage(sheet, x, y, frameWidth, frameHeight);
+            int region = atlas.add(sheet, x, y, frameWidth, frameHeight, drawWidth, drawHeight);
+            if (i == 0) {
+                firstRegion = region;
+            }
         }
     }
 
-    public void update(double dt) {
+    // Returns true if the frame to draw has changed
+    public boolean update(double dt) {
+        int previousFrame = currentFrame;
         animTime += dt;
         currentFrame = (int) ((animTime / frameDuration) % frameCount);
+        return currentFrame != previousFrame;
     }
 
     public void reset() {
@@ -31,7 +42,8 @@ public class Sprite {
         currentFrame = 0;
     }
 
-    public Image getCurrentFrame() {
-        return frames[currentFrame];
+    // Draws the current frame with its top left corner at (x, y)
+    public void draw(GameEngine game, double x, double y) {
+        atlas.draw(game, firstRegion + currentFrame, x, y);
     }
 }
@@ -0,0 +1,108 @@
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Packs animation frames from several sprite sheets into one image in the
+// screen's format, with every frame already scaled to the size it is drawn at.
+// Sub-images of a loaded sheet share the sheet's raster and usually stay in
+// system memory, and scaling them as they are drawn is slow; frames drawn
+// from the atlas are plain accelerated blits.
+//
+// Add every frame, pack() once, then draw regions by index.
+public class SpriteAtlas {
+    private static final int MAX_WIDTH = 2048;
+
+    // A frame waiting to be packed
+    private static class Source {
+        final Image sheet;
+        final int x, y, width, height;
+
+        Source(Image sheet, int x, int y, int width, int height) {
+            this.sheet = sheet;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private final List<Source> sources = new ArrayList<>();
+    private int[] regionX = new int[16];
+    private int[] regionY = new int[16];
+    private int[] regionWidth = new int[16];
+    private int[] regionHeight = new int[16];
+    private BufferedImage image;
+
+    // Adds the (width, height) area at (x, y) of a sheet, to be drawn at
+    // (drawWidth, drawHeight). Returns the index of its region.
+    public int add(Image sheet, int x, int y, int width, int height, int drawWidth, int drawHeight) {
+        if (image != null) {
+            throw new IllegalStateException("atlas has already been packed");
+        }
+        if (drawWidth > MAX_WIDTH) {
+            throw new IllegalArgumentException("frame is wider than an atlas");
+        }
+
+        int region = sources.size();
+        if (region == regionX.length) {
+            int capacity = 2 * region;
+            regionX = Arrays.copyOf(regionX, capacity);
+            regionY = Arrays.copyOf(regionY, capacity);
+            regionWidth = Arrays.copyOf(regionWidth, capacity);
+            regionHeight = Arrays.copyOf(regionHeight, capacity);
+        }
+        sources.add(new Source(sheet, x, y, width, height));
+        regionWidth[region] = drawWidth;
+        regionHeight[region] = drawHeight;
+        return region;
+    }
+
+    // Lays the regions out in rows and draws them all into the atlas image
+    public void pack() {
+        // Shelf packing: left to right, starting a new row when one is full
+        int x = 0, y = 0, rowHeight = 0, width = 0;
+        for (int i = 0; i < sources.size(); i++) {
+            if (x + regionWidth[i] > MAX_WIDTH) {
+                x = 0;
+                y += rowHeight;
+                rowHeight = 0;
+            }
+            regionX[i] = x;
+            regionY[i] = y;
+            x += regionWidth[i];
+            rowHeight = Math.max(rowHeight, regionHeight[i]);
+            width = Math.max(width, x);
+        }
+
+        image = GameEngine.createCompatibleImage(Math.max(1, width), Math.max(1, y + rowHeight));
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        for (int i = 0; i < sources.size(); i++) {
+            Source source = sources.get(i);
+            graphics.drawImage(source.sheet, regionX[i], regionY[i], regionX[i] + regionWidth[i],
+                    regionY[i] + regionHeight[i], source.x, source.y, source.x + source.width,
+                    source.y + source.height, null);
+        }
+        graphics.dispose();
+
+        // The sheets are not needed any more
+        sources.clear();
+    }
+
+    public int regionWidth(int region) {
+        return regionWidth[region];
+    }
+
+    public int regionHeight(int region) {
+        return regionHeight[region];
+    }
+
+    // Draws a region with its top left corner at (x, y)
+    public void draw(GameEngine game, int region, double x, double y) {
+        game.drawImage(image, regionX[region], regionY[region], regionWidth[region], regionHeight[region], x, y);
+    }
+}
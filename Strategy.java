@@ -0,0 +1,36 @@
+// A way of picking guesses, used by the headless Simulator.
+// Implementations must be safe to share between threads; all per-game state
+// lives in the CandidateSet passed in.
+public interface Strategy {
+
+    // Returns the dictionary index of the next guess. turn is 0 for the opening guess.
+    int nextGuess(CandidateSet candidates, int turn);
+
+    // Always guesses the first word that is still possible
+    class FirstCandidate implements Strategy {
+        @Override
+        public int nextGuess(CandidateSet candidates, int turn) {
+            return candidates.indexAt(0);
+        }
+    }
+
+    // Guesses the word with the highest expected information, same as the in-game hint
+    class Entropy implements Strategy {
+        @Override
+        public int nextGuess(CandidateSet candidates, int turn) {
+            return HintEngine.bestGuess(candidates);
+        }
+    }
+
+    // Looks up a built in strategy by name, or loads a class implementing Strategy
+    static Strategy forName(String name) throws ReflectiveOperationException {
+        switch (name) {
+            case "first":
+                return new FirstCandidate();
+            case "entropy":
+                return new Entropy();
+            default:
+                return (Strategy) Class.forName(name).getDeclaredConstructor().newInstance();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Pre-rendered board tiles, so the board is drawn as image blits instead of
+// shapes and text. Each (face, letter, height) is rendered once, on first use,
+// into an image compatible with the screen, which Java2D keeps in video memory.
+//
+// Faces are the outlined front of a box (letter in the outline colour) and
+// one filled back face per fill colour (letter in the back text colour).
+// Flipping boxes are squashed vertically; the squash is rounded to one of
+// FLIP_STEPS heights, each rendered as its own tile rather than scaling the
+// full tile down, which would drop the 1 pixel outline.
+// Images have a 1 pixel margin around the box for the outline stroke.
+public class TileCache {
+    public static final int MARGIN = 1;
+    public static final int FLIP_STEPS = 16;
+
+    private static final int LETTERS = 27; // blank, then A to Z
+    private static final int HEIGHTS = FLIP_STEPS + 1;
+
+    private final int size;
+    private final Font font;
+    private final Color outline;
+    private final Color backText;
+
+    // Face 0 is the outlined front, face i > 0 is filled with fills.get(i - 1)
+    private final List<Color> fills = new ArrayList<>();
+    private final List<BufferedImage[]> tiles = new ArrayList<>();
+    private final Map<Integer, BufferedImage> otherLetters = new HashMap<>();
+
+    public TileCache(int size, Font font, Color outline, Color backText) {
+        this.size = size;
+        this.font = font;
+        this.outline = outline;
+        this.backText = backText;
+        tiles.add(new BufferedImage[LETTERS * HEIGHTS]);
+    }
+
+    // Width of each tile image, and height of an unsquashed one, including the margin
+    public int imageSize() {
+        return size + 2 * MARGIN;
+    }
+
+    // Tile for the front of a box showing letter ('\0' for an empty box),
+    // squashed to heightScale (0 to 1) of its height. Returns null when
+    // the box is squashed too thin to see.
+    public BufferedImage front(char letter, double heightScale) {
+        return tile(0, letter, heightScale);
+    }
+
+    // Tile for the back of a box filled with fill showing letter
+    public BufferedImage back(Color fill, char letter, double heightScale) {
+        return tile(face(fill), letter, heightScale);
+    }
+
+    private int face(Color fill) {
+        for (int i = 0; i < fills.size(); i++) {
+            if (fills.get(i).equals(fill)) {
+                return i + 1;
+            }
+        }
+        fills.add(fill);
+        tiles.add(new BufferedImage[LETTERS * HEIGHTS]);
+        return fills.size();
+    }
+
+    private BufferedImage tile(int face, char letter, double heightScale) {
+        int step = (int) Math.round(Math.max(0, Math.min(1, heightScale)) * FLIP_STEPS);
+        if (step == 0) {
+            return null;
+        }
+
+        int index = letter == '\0' ? 0 : letter - 'A' + 1;
+        if (index < 0 || index >= LETTERS) {
+            // Not a letter the word lists use, cache it separately
+            return otherLetters.computeIfAbsent(face << 21 | step << 16 | letter, key -> render(face, letter, step));
+        }
+
+        BufferedImage[] faceTiles = tiles.get(face);
+        int slot = index * HEIGHTS + step;
+        if (faceTiles[slot] == null) {
+            faceTiles[slot] = render(face, letter, step);
+        }
+        return faceTiles[slot];
+    }
+
+    private BufferedImage render(int face, char letter, int step) {
+        double scale = (double) step / FLIP_STEPS;
+        double height = size * scale;
+        BufferedImage image = GameEngine.createCompatibleImage(imageSize(), (int) Math.ceil(height) + 2 * MARGIN);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.translate(MARGIN, MARGIN);
+
+        if (face == 0) {
+            graphics.setColor(outline);
+            graphics.draw(new Rectangle2D.Double(0, 0, size, height));
+        } else {
+            graphics.setColor(fills.get(face - 1));
+            graphics.fill(new Rectangle2D.Double(0, 0, size, height));
+        }
+
+        if (letter != '\0') {
+            // Squash the letter about the middle of the box
+            graphics.translate(0, height / 2);
+            graphics.scale(1, scale);
+            graphics.translate(0, -size / 2.0);
+
+            String text = String.valueOf(letter);
+            FontMetrics metrics = graphics.getFontMetrics(font);
+            int letterWidth = metrics.stringWidth(text);
+            int letterHeight = metrics.getAscent();
+            graphics.setColor(face == 0 ? outline : backText);
+            graphics.setFont(font);
+            graphics.drawString(text, (size - letterWidth) / 2, (size + letterHeight) / 2 - 3);
+        }
+
+        graphics.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,101 @@
+// Everything known about the answer from the feedback seen so far, kept as
+// primitive bitmasks so candidate words can be tested without allocating.
+// Each position has a 26-bit mask of letters it may still hold, and every
+// letter has a minimum and maximum number of times it can appear.
+public class WordConstraints {
+    private final int[] allowed = new int[Dictionary.MAX_LETTERS];
+    private final int[] minCount = new int[26];
+    private final int[] maxCount = new int[26];
+    private int countedLetters; // letters whose count is restricted
+    private int letterCount;
+
+    public WordConstraints(int letterCount) {
+        reset(letterCount);
+    }
+
+    // Forgets all feedback, every word of the given length matches again
+    public void reset(int letterCount) {
+        this.letterCount = letterCount;
+        for (int i = 0; i < allowed.length; i++) {
+            allowed[i] = (1 << 26) - 1;
+        }
+        for (int letter = 0; letter < 26; letter++) {
+            minCount[letter] = 0;
+            maxCount[letter] = letterCount;
+        }
+        countedLetters = 0;
+    }
+
+    // Narrows the constraints with the pattern received for a guess
+    public void addFeedback(int guessCode, int pattern) {
+        for (int i = 0; i < letterCount; i++) {
+            int letter = Dictionary.letterAt(guessCode, i);
+            int mark = Feedback.digit(pattern, i);
+            if (mark == Feedback.CORRECT) {
+                allowed[i] = 1 << letter;
+            } else {
+                allowed[i] &= ~(1 << letter);
+            }
+
+            // Count how often this letter was marked in the guess, and whether
+            // any copy came back grey which caps the count exactly
+            int marked = 0;
+            boolean capped = false;
+            for (int j = 0; j < letterCount; j++) {
+                if (Dictionary.letterAt(guessCode, j) == letter) {
+                    if (Feedback.digit(pattern, j) == Feedback.ABSENT) {
+                        capped = true;
+                    } else {
+                        marked++;
+                    }
+                }
+            }
+
+            if (marked > minCount[letter]) {
+                minCount[letter] = marked;
+                countedLetters |= 1 << letter;
+            }
+            if (capped && marked < maxCount[letter]) {
+                maxCount[letter] = marked;
+                countedLetters |= 1 << letter;
+            }
+        }
+
+        // Letters known to be absent can be removed from every position up front
+        int excluded = 0;
+        for (int letter = 0; letter < 26; letter++) {
+            if (maxCount[letter] == 0) {
+                excluded |= 1 << letter;
+            }
+        }
+        for (int i = 0; i < letterCount; i++) {
+            allowed[i] &= ~excluded;
+        }
+    }
+
+    // Returns true if the packed word is consistent with all feedback so far
+    public boolean matches(int code) {
+        for (int i = 0; i < letterCount; i++) {
+            if ((allowed[i] & (1 << Dictionary.letterAt(code, i))) == 0) {
+                return false;
+            }
+        }
+
+        int letters = countedLetters;
+        while (letters != 0) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            letters &= letters - 1;
+
+            int count = 0;
+            for (int i = 0; i < letterCount; i++) {
+                if (Dictionary.letterAt(code, i) == letter) {
+                    count++;
+                }
+            }
+            if (count < minCount[letter] || count > maxCount[letter]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,218 @@
+import java.awt.Color;
+import java.awt.RenderingHints;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+import javax.swing.JPanel;
+
+// Bridge between the JMH benchmarks and the game classes.
+// JMH refuses benchmark classes in the default package, and classes in a
+// named package cannot see the game (which lives in the default package), so
+// the benchmarks look this class up by name and fetch each operation from it
+// as a plain IntSupplier. Everything a target needs is set up when it is
+// requested, getAsInt() only runs the code being measured.
+public class BenchmarkTargets implements Function<String, IntSupplier> {
+    static final double DT = 1.0 / 60;
+
+    @Override
+    public IntSupplier apply(String name) {
+        try {
+            switch (name) {
+                case "dictionary.load":
+                    return () -> {
+                        try {
+                            return Dictionary.load(6).size();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    };
+                case "dictionary.registry":
+                    return () -> {
+                        try {
+                            return DictionaryRegistry.get(6).size();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    };
+                case "dictionary.contains":
+                    return containsTarget(DictionaryRegistry.get(6));
+                case "feedback.score":
+                    return scoreTarget(DictionaryRegistry.get(5));
+                case "game.determineBoxColors":
+                    return determineBoxColorsTarget(playingGame());
+                case "candidates.narrow":
+                    return narrowTarget(DictionaryRegistry.get(6));
+                case "constraints.matches":
+                    return constraintsTarget(DictionaryRegistry.get(6));
+                case "render.drawGame":
+                    return drawGameTarget(playingGame());
+                case "render.drawKeyboard":
+                    return drawKeyboardTarget(playingGame());
+                case "menu.update":
+                    return menuTarget(menuGame());
+                default:
+                    throw new IllegalArgumentException("Unknown benchmark target: " + name);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //-------------------------------------------------------
+    // Dictionary and scoring
+    //-------------------------------------------------------
+
+    private static IntSupplier containsTarget(Dictionary dictionary) {
+        String[] words = {"PLANET", "ZZZZZZ", "STRAND", "QWERTY"};
+        int[] next = {0};
+        return () -> dictionary.contains(words[next[0]++ & 3]) ? 1 : 0;
+    }
+
+    private static IntSupplier scoreTarget(Dictionary dictionary) {
+        int[] codes = new int[dictionary.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = dictionary.codeAt(i);
+        }
+        int guess = Dictionary.encode("CRANE");
+        int[] next = {0};
+        return () -> {
+            int answer = codes[next[0]];
+            next[0] = next[0] + 1 == codes.length ? 0 : next[0] + 1;
+            return Feedback.score(guess, answer, 5);
+        };
+    }
+
+    private static IntSupplier determineBoxColorsTarget(Game game) {
+        // Line 0 is never the last line and never the answer, so no game-over timer is started
+        return () -> {
+            game.determineBoxColors();
+            return game.boxColors[0][0].getRGB();
+        };
+    }
+
+    private static IntSupplier narrowTarget(Dictionary dictionary) {
+        CandidateSet candidates = new CandidateSet();
+        int guess = Dictionary.encode("STRAND");
+        int pattern = Feedback.score(guess, Dictionary.encode("PLANET"), 6);
+        return () -> {
+            candidates.reset(dictionary);
+            candidates.narrow(guess, pattern);
+            return candidates.size();
+        };
+    }
+
+    private static IntSupplier constraintsTarget(Dictionary dictionary) {
+        WordConstraints constraints = new WordConstraints(6);
+        int guess = Dictionary.encode("STRAND");
+        constraints.addFeedback(guess, Feedback.score(guess, Dictionary.encode("PLANET"), 6));
+        return () -> {
+            int count = 0;
+            for (int i = 0; i < dictionary.size(); i++) {
+                if (constraints.matches(dictionary.codeAt(i))) {
+                    count++;
+                }
+            }
+            return count;
+        };
+    }
+
+    //-------------------------------------------------------
+    // Rendering and menu
+    //-------------------------------------------------------
+
+    private static IntSupplier drawGameTarget(Game game) {
+        BufferedImage image = attachImage(game);
+        return () -> {
+            GamePlay.drawGame(game);
+            return image.getRGB(250, 80);
+        };
+    }
+
+    private static IntSupplier drawKeyboardTarget(Game game) {
+        BufferedImage image = attachImage(game);
+        return () -> {
+            GamePlay.drawKeyboard(game);
+            return image.getRGB(250, 520);
+        };
+    }
+
+    private static IntSupplier menuTarget(Game game) {
+        KeyEvent space = new KeyEvent(new JPanel(), KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_SPACE, ' ');
+        Menu.keyPressed(game, space);
+        int[] frames = {0};
+        return () -> {
+            Menu.update(game, DT);
+
+            // Keep jumping (and restarting after a crash) so obstacles keep spawning
+            if (++frames[0] % 30 == 0) {
+                Menu.keyPressed(game, space);
+            }
+            return frames[0];
+        };
+    }
+
+    // A 5 letter game with three scored lines, one line mid-flip and one being typed
+    private static Game playingGame() throws IOException {
+        Game game = new Game();
+        game.mWidth = 500;
+        game.mHeight = 700;
+        game.letterCount = 5;
+        game.allowableWords = DictionaryRegistry.get(5);
+        game.targetWord = "PLANT";
+        game.targetCode = Dictionary.encode(game.targetWord);
+        game.isFlipping = new boolean[6][5];
+        game.isSolid = new boolean[6][5];
+        game.flipProgress = new double[6][5];
+        game.letters = new char[6][5];
+        game.boxColors = new Color[6][5];
+        game.candidates.reset(game.allowableWords);
+        GamePlay.keyboard.clear();
+
+        String[] lines = {"CRANE", "SLOTH", "PLAIT", "PLANK", "PL"};
+        for (int line = 0; line < lines.length; line++) {
+            for (int i = 0; i < lines[line].length(); i++) {
+                game.letters[line][i] = lines[line].charAt(i);
+            }
+        }
+        for (int line = 0; line < 4; line++) {
+            game.currentLine = line;
+            game.determineBoxColors();
+        }
+        for (int line = 0; line < 3; line++) {
+            for (int i = 0; i < 5; i++) {
+                game.isSolid[line][i] = true;
+                game.flipProgress[line][i] = 1;
+            }
+        }
+        for (int i = 0; i < 5; i++) {
+            game.isFlipping[3][i] = true;
+            game.flipProgress[3][i] = 0.2 * i;
+        }
+        game.currentLine = 0;
+        game.currentBox = 2;
+        game.publishBoard();
+        return game;
+    }
+
+    private static Game menuGame() {
+        Game game = new Game();
+        game.mWidth = 500;
+        game.mHeight = 700;
+        Menu.init(game).join();
+        return game;
+    }
+
+    // Points the game's graphics at an offscreen image, the same way GamePanel does for the window
+    private static BufferedImage attachImage(Game game) {
+        BufferedImage image = new BufferedImage(game.width(), game.height(), BufferedImage.TYPE_INT_RGB);
+        game.mGraphics = image.createGraphics();
+        game.mGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        game.mTransforms.clear();
+        game.mTransforms.push(game.mGraphics.getTransform());
+        return image;
+    }
+}
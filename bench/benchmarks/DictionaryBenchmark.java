@@ -0,0 +1,42 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import org.openjdk.jmh.annotations.*;
+
+// Loading the 6 letter word list (was Game.loadAllowableWords) and looking words up in it
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DictionaryBenchmark {
+    IntSupplier load;
+    IntSupplier registry;
+    IntSupplier contains;
+
+    @Setup
+    public void setup() {
+        load = Targets.get("dictionary.load");
+        registry = Targets.get("dictionary.registry");
+        contains = Targets.get("dictionary.contains");
+    }
+
+    @Benchmark
+    public int load() {
+        return load.getAsInt();
+    }
+
+    @Benchmark
+    public int registryGet() {
+        return registry.getAsInt();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int contains() {
+        return contains.getAsInt();
+    }
+}
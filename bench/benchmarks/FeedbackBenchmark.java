@@ -0,0 +1,52 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import org.openjdk.jmh.annotations.*;
+
+// Scoring guesses and filtering the remaining options
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedbackBenchmark {
+    IntSupplier score;
+    IntSupplier determineBoxColors;
+    IntSupplier narrow;
+    IntSupplier constraints;
+
+    @Setup
+    public void setup() {
+        score = Targets.get("feedback.score");
+        determineBoxColors = Targets.get("game.determineBoxColors");
+        narrow = Targets.get("candidates.narrow");
+        constraints = Targets.get("constraints.matches");
+    }
+
+    @Benchmark
+    public int score() {
+        return score.getAsInt();
+    }
+
+    @Benchmark
+    public int determineBoxColors() {
+        return determineBoxColors.getAsInt();
+    }
+
+    // CandidateSet reset plus first narrowing of the full 6 letter list
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int candidatesNarrow() {
+        return narrow.getAsInt();
+    }
+
+    // Constraint check over every 6 letter word (was isValidOption)
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int constraintsMatchAll() {
+        return constraints.getAsInt();
+    }
+}
@@ -0,0 +1,42 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import org.openjdk.jmh.annotations.*;
+
+// Drawing the board and keyboard into an offscreen BufferedImage, and stepping the menu mini-game
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    IntSupplier drawGame;
+    IntSupplier drawKeyboard;
+    IntSupplier menuUpdate;
+
+    @Setup
+    public void setup() {
+        drawGame = Targets.get("render.drawGame");
+        drawKeyboard = Targets.get("render.drawKeyboard");
+        menuUpdate = Targets.get("menu.update");
+    }
+
+    @Benchmark
+    public int drawGame() {
+        return drawGame.getAsInt();
+    }
+
+    @Benchmark
+    public int drawKeyboard() {
+        return drawKeyboard.getAsInt();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int menuUpdate() {
+        return menuUpdate.getAsInt();
+    }
+}
@@ -0,0 +1,20 @@
+package benchmarks;
+
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+// Fetches benchmark targets from the default package BenchmarkTargets bridge
+final class Targets {
+    private Targets() {}
+
+    @SuppressWarnings("unchecked")
+    static IntSupplier get(String name) {
+        try {
+            Function<String, IntSupplier> targets = (Function<String, IntSupplier>)
+                    Class.forName("BenchmarkTargets").getDeclaredConstructor().newInstance();
+            return targets.apply(name);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Benchmark targets are not on the classpath", e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+// Narrowing must leave exactly the dictionary words that would have given the
+// same feedback for every guess, whether or not the guess is in the dictionary.
+class CandidateSetTest {
+    private static int[] remaining(CandidateSet candidates) {
+        return IntStream.range(0, candidates.size()).map(candidates::indexAt).toArray();
+    }
+
+    private static int[] bruteForce(Dictionary dictionary, int[] guesses, int[] patterns, int guessCount) {
+        return IntStream.range(0, dictionary.size()).filter(index -> {
+            for (int g = 0; g < guessCount; g++) {
+                if (Feedback.score(guesses[g], dictionary.codeAt(index), dictionary.letterCount()) != patterns[g]) {
+                    return false;
+                }
+            }
+            return true;
+        }).toArray();
+    }
+
+    @Test
+    void narrowKeepsWordsGivingTheSameFeedback() throws IOException {
+        Random random = new Random(3);
+        for (int letterCount = 4; letterCount <= 5; letterCount++) {
+            Dictionary dictionary = DictionaryRegistry.get(letterCount);
+            assertTrue(dictionary.size() > 0);
+            CandidateSet candidates = new CandidateSet();
+
+            for (int game = 0; game < 20; game++) {
+                int answer = dictionary.codeAt(random.nextInt(dictionary.size()));
+                candidates.reset(dictionary);
+                assertEquals(dictionary.size(), candidates.size());
+
+                int[] guesses = new int[4];
+                int[] patterns = new int[guesses.length];
+                for (int g = 0; g < guesses.length; g++) {
+                    // Mix dictionary words with arbitrary letters, which narrow without the matrix
+                    guesses[g] = g % 2 == 0
+                            ? dictionary.codeAt(random.nextInt(dictionary.size()))
+                            : Dictionary.encode(TestWords.randomWord(random, TestWords.ALPHABET, letterCount));
+                    patterns[g] = Feedback.score(guesses[g], answer, letterCount);
+                    candidates.narrow(guesses[g], patterns[g]);
+
+                    assertArrayEquals(bruteForce(dictionary, guesses, patterns, g + 1), remaining(candidates));
+                    assertEquals(g + 1, candidates.guessCount());
+                    assertEquals(candidates.size(), candidates.sizeAfterGuess(g));
+                }
+            }
+        }
+    }
+
+    @Test
+    void resetRestoresEveryWord() throws IOException {
+        Dictionary dictionary = DictionaryRegistry.get(5);
+        CandidateSet candidates = new CandidateSet();
+        candidates.reset(dictionary);
+        int guess = dictionary.codeAt(0);
+        candidates.narrow(guess, Feedback.score(guess, dictionary.codeAt(dictionary.size() - 1), 5));
+        assertTrue(candidates.size() < dictionary.size());
+
+        candidates.reset(dictionary);
+        assertEquals(dictionary.size(), candidates.size());
+        assertEquals(0, candidates.guessCount());
+        assertArrayEquals(IntStream.range(0, dictionary.size()).toArray(), remaining(candidates));
+    }
+}
@@ -0,0 +1,56 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// A damaged matrix file must fail with an IOException, which get() turns into
+// falling back to Feedback.score.
+class FeedbackMatrixTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void missingFileIsIgnored() throws IOException {
+        assertNull(FeedbackMatrix.open(DictionaryRegistry.get(4), dir.resolve("4letter.matrix")));
+    }
+
+    @Test
+    void emptyFileIsRejected() throws IOException {
+        Path file = Files.write(dir.resolve("4letter.matrix"), new byte[0]);
+        assertThrows(IOException.class, () -> FeedbackMatrix.open(DictionaryRegistry.get(4), file));
+    }
+
+    @Test
+    void fileShorterThanTheHeaderIsRejected() throws IOException {
+        Path file = Files.write(dir.resolve("4letter.matrix"), new byte[FeedbackMatrix.HEADER_BYTES - 1]);
+        assertThrows(IOException.class, () -> FeedbackMatrix.open(DictionaryRegistry.get(4), file));
+    }
+
+    @Test
+    void generatedFileMatchesFeedbackScoreUntilTruncated() throws IOException {
+        Dictionary dictionary = DictionaryRegistry.get(4);
+        Path file = dir.resolve("4letter.matrix");
+        FeedbackMatrix.generate(dictionary, file);
+
+        FeedbackMatrix matrix = FeedbackMatrix.open(dictionary, file);
+        assertEquals(dictionary.size(), matrix.wordCount());
+        for (int guess = 0; guess < dictionary.size(); guess += 97) {
+            for (int answer = 0; answer < dictionary.size(); answer += 13) {
+                assertEquals(Feedback.score(dictionary.codeAt(guess), dictionary.codeAt(answer), 4),
+                        matrix.pattern(guess, answer));
+            }
+        }
+
+        // A complete header with the cells cut short
+        Path truncated = Files.write(dir.resolve("truncated.matrix"),
+                Arrays.copyOf(Files.readAllBytes(file), FeedbackMatrix.HEADER_BYTES + 10));
+        assertThrows(IOException.class, () -> FeedbackMatrix.open(dictionary, truncated));
+    }
+}
@@ -0,0 +1,105 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// Feedback.score replaced the colouring in Game.determineBoxColors, so it is
+// checked against that original algorithm, kept here as the reference.
+class FeedbackTest {
+    // The board colouring from before Feedback existed: greens first, then a
+    // yellow for each copy of a letter the answer still has left, left to right
+    private static int reference(String guess, String answer) {
+        int[] answerLetterCounts = new int[26];
+        for (char c : answer.toCharArray()) {
+            answerLetterCounts[c - 'A']++;
+        }
+
+        int[] marks = new int[guess.length()];
+        for (int i = 0; i < guess.length(); i++) {
+            if (guess.charAt(i) == answer.charAt(i)) {
+                marks[i] = Feedback.CORRECT;
+                answerLetterCounts[guess.charAt(i) - 'A']--;
+            }
+        }
+        for (int i = 0; i < guess.length(); i++) {
+            if (marks[i] == Feedback.CORRECT) {
+                continue;
+            }
+            if (answerLetterCounts[guess.charAt(i) - 'A'] > 0) {
+                marks[i] = Feedback.PRESENT;
+                answerLetterCounts[guess.charAt(i) - 'A']--;
+            }
+        }
+
+        int pattern = 0;
+        for (int i = 0; i < marks.length; i++) {
+            pattern = Feedback.withDigit(pattern, i, marks[i]);
+        }
+        return pattern;
+    }
+
+    private static int score(String guess, String answer) {
+        return Feedback.score(Dictionary.encode(guess), Dictionary.encode(answer), guess.length());
+    }
+
+    // Marks as a string, G = CORRECT, Y = PRESENT, . = ABSENT
+    private static String marks(int pattern, int letterCount) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < letterCount; i++) {
+            sb.append(".YG".charAt(Feedback.digit(pattern, i)));
+        }
+        return sb.toString();
+    }
+
+    private static void assertMarks(String expected, String guess, String answer) {
+        assertEquals(expected, marks(score(guess, answer), guess.length()), guess + " against " + answer);
+        assertEquals(reference(guess, answer), score(guess, answer), guess + " against " + answer);
+    }
+
+    @Test
+    void repeatedLettersInGuess() {
+        assertMarks("..Y.Y", "SPEED", "ABIDE");
+        assertMarks("GG..G", "BOOKS", "BOATS");
+        assertMarks("Y.G.G", "EERIE", "THREE");
+    }
+
+    @Test
+    void repeatedLettersInAnswer() {
+        assertMarks("YG...", "ALOUD", "LLAMA");
+        assertMarks("YG...", "LEMON", "BELLE");
+    }
+
+    @Test
+    void repeatedLettersInBoth() {
+        assertMarks("YY.YG", "ERROR", "ROWER");
+        assertMarks("YYYY", "ABBA", "BAAB");
+        assertMarks("GGGG", "SEES", "SEES");
+        assertMarks("GG..GG", "AABBAA", "AAAAAA");
+        assertMarks(".YYYYY", "BANANA", "ANANAS");
+    }
+
+    @Test
+    void matchesReferenceOnRandomWords() {
+        Random random = new Random(42);
+        for (int letterCount = 4; letterCount <= 6; letterCount++) {
+            for (int n = 0; n < 20_000; n++) {
+                String guess = TestWords.randomWord(random, TestWords.FEW_LETTERS, letterCount);
+                String answer = TestWords.randomWord(random, TestWords.FEW_LETTERS, letterCount);
+                assertEquals(reference(guess, answer), score(guess, answer), guess + " against " + answer);
+            }
+        }
+    }
+
+    @Test
+    void solvedIsAllCorrect() {
+        for (int letterCount = 4; letterCount <= 6; letterCount++) {
+            int solved = Feedback.solved(letterCount);
+            assertEquals("GGGGGG".substring(0, letterCount), marks(solved, letterCount));
+            assertEquals(Feedback.patternCount(letterCount) - 1, solved);
+
+            String word = "PLANTS".substring(0, letterCount);
+            assertEquals(solved, score(word, word));
+        }
+    }
+}
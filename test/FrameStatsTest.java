@@ -0,0 +1,63 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class FrameStatsTest {
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(8, new FrameStats(5).capacity());
+        assertEquals(8, new FrameStats(8).capacity());
+        assertEquals(16, new FrameStats(9).capacity());
+        assertEquals(2, new FrameStats(2).capacity());
+        assertEquals(2, new FrameStats(1).capacity());
+    }
+
+    @Test
+    void keepsTheNewestFramesAcrossWrapAround() {
+        FrameStats stats = new FrameStats(8);
+        for (int i = 0; i < 100; i++) {
+            stats.record(i, 0, 0, 0, 0);
+            stats.recordInputLatency(1_000_000L * i);
+        }
+        assertEquals(100, stats.frameCount());
+        assertEquals(100, stats.inputCount());
+
+        long[] recent = new long[10];
+        assertEquals(8, stats.copyRecent(FrameStats.Phase.UPDATE, recent));
+        assertArrayEquals(new long[] {92, 93, 94, 95, 96, 97, 98, 99}, Arrays.copyOf(recent, 8));
+
+        long[] newest = new long[3];
+        assertEquals(3, stats.copyRecent(FrameStats.Phase.UPDATE, newest));
+        assertArrayEquals(new long[] {97, 98, 99}, newest);
+
+        FrameStats.Summary update = stats.summary(FrameStats.Phase.UPDATE);
+        assertEquals(8, update.count);
+        assertEquals(99e-6, update.max, 1e-12);
+        FrameStats.Summary input = stats.inputLatency();
+        assertEquals(8, input.count);
+        assertEquals(95, input.p50, 1e-9);
+        assertEquals(99, input.max, 1e-9);
+    }
+
+    @Test
+    void overlayTextIsRebuiltOnlyWhenItsNumbersChange() {
+        FrameStats stats = new FrameStats(8);
+        for (int i = 0; i < 8; i++) {
+            stats.record(0, 2_000_000, 0, 16_000_000, 0);
+        }
+        String[] text = stats.overlayText();
+        assertSame(text, stats.overlayText());
+
+        // A slower paint moves the paint percentiles
+        stats.record(0, 9_000_000, 0, 16_000_000, 0);
+        String[] changed = stats.overlayText();
+        assertNotSame(text, changed);
+        assertTrue(changed[5].contains("9.0"), changed[5]);
+    }
+}
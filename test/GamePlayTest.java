@@ -0,0 +1,63 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.event.KeyEvent;
+
+import javax.swing.JPanel;
+
+import org.junit.jupiter.api.Test;
+
+// Keys pressed while a guess flips over are held and typed once it is done
+class GamePlayTest {
+    private static final JPanel SOURCE = new JPanel();
+
+    private static void press(Game game, int keyCode, char keyChar) {
+        game.keyPressed(new KeyEvent(SOURCE, KeyEvent.KEY_PRESSED, 0, 0, keyCode, keyChar));
+    }
+
+    private static void type(Game game, String word) {
+        for (char c : word.toCharArray()) {
+            press(game, KeyEvent.getExtendedKeyCodeForChar(c), c);
+        }
+    }
+
+    // Starts a 5 letter game and enters a wrong guess, which starts flipping
+    private static Game flippingGame() {
+        Game game = new Game();
+        game.setRandomSeed(7);
+        press(game, KeyEvent.VK_5, '5');
+
+        String guess = game.allowableWords.wordAt(0);
+        if (guess.equals(game.targetWord)) {
+            guess = game.allowableWords.wordAt(1);
+        }
+        type(game, guess);
+        press(game, KeyEvent.VK_ENTER, '\n');
+        assertTrue(game.isFlippingInProgress);
+        return game;
+    }
+
+    @Test
+    void modifiersPressedDuringAFlipAreNotHeld() {
+        Game game = flippingGame();
+        press(game, KeyEvent.VK_SHIFT, KeyEvent.CHAR_UNDEFINED);
+        press(game, KeyEvent.VK_CONTROL, KeyEvent.CHAR_UNDEFINED);
+        press(game, KeyEvent.VK_LEFT, KeyEvent.CHAR_UNDEFINED);
+        assertEquals(0, GamePlay.heldKeyCount());
+    }
+
+    @Test
+    void shiftedWordTypedDuringAFlipKeepsEveryLetter() {
+        Game game = flippingGame();
+        for (char c : "ABCDE".toCharArray()) {
+            press(game, KeyEvent.VK_SHIFT, KeyEvent.CHAR_UNDEFINED);
+            press(game, KeyEvent.getExtendedKeyCodeForChar(c), c);
+        }
+        assertEquals(5, GamePlay.heldKeyCount());
+
+        game.fastForward(game.letterCount / GamePlay.FLIP_SPEED + 1);
+        assertEquals(1, game.currentLine);
+        assertEquals("ABCDE", new String(game.letters[1]));
+        assertEquals(0, GamePlay.heldKeyCount());
+    }
+}
@@ -0,0 +1,130 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.AWTEvent;
+import java.awt.event.ActionEvent;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class InputQueueTest {
+    private static final Object SOURCE = new Object();
+
+    private static AWTEvent event(int id) {
+        return new ActionEvent(SOURCE, ActionEvent.ACTION_PERFORMED, Integer.toString(id));
+    }
+
+    private static int id(AWTEvent event) {
+        return Integer.parseInt(((ActionEvent) event).getActionCommand());
+    }
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(8, fill(new InputQueue(5)));
+        assertEquals(8, fill(new InputQueue(8)));
+        assertEquals(16, fill(new InputQueue(9)));
+        assertEquals(2, fill(new InputQueue(2)));
+        assertEquals(2, fill(new InputQueue(1)));
+    }
+
+    // Offers events until the queue is full, returns how many fitted
+    private static int fill(InputQueue queue) {
+        int n = 0;
+        while (queue.offer(event(n), n)) {
+            n++;
+        }
+        return n;
+    }
+
+    @Test
+    void keepsOrderAndTimesAcrossWrapAround() {
+        InputQueue queue = new InputQueue(8);
+        int next = 0;
+        int expected = 0;
+        // Uneven batches so head and tail wrap at different points
+        for (int round = 0; round < 1_000; round++) {
+            int batch = 1 + round % 7;
+            for (int i = 0; i < batch; i++, next++) {
+                assertTrue(queue.offer(event(next), 1_000L * next));
+            }
+            assertEquals(batch, queue.size());
+
+            for (int i = 0; i < batch; i++, expected++) {
+                AWTEvent event = queue.peek();
+                assertEquals(expected, id(event));
+                assertEquals(1_000L * expected, queue.peekTime());
+                queue.poll();
+            }
+            assertTrue(queue.isEmpty());
+        }
+        assertEquals(0, queue.dropped());
+    }
+
+    @Test
+    void fullQueueDropsNewEvents() {
+        InputQueue queue = new InputQueue(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(event(i), i));
+        }
+        assertFalse(queue.offer(event(4), 4));
+        assertFalse(queue.offer(event(5), 5));
+        assertEquals(2, queue.dropped());
+        assertEquals(4, queue.size());
+
+        // The oldest events are kept, and a poll makes room again
+        assertEquals(0, id(queue.peek()));
+        queue.poll();
+        assertTrue(queue.offer(event(6), 6));
+        int[] ids = new int[4];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = id(queue.peek());
+            queue.poll();
+        }
+        assertEquals("[1, 2, 3, 6]", Arrays.toString(ids));
+    }
+
+    @Test
+    void pollOnEmptyQueueDoesNothing() {
+        InputQueue queue = new InputQueue(4);
+        assertNull(queue.peek());
+        queue.poll();
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+
+        AWTEvent event = event(1);
+        queue.offer(event, 1);
+        queue.poll();
+        queue.poll();
+        assertNull(queue.peek());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void oneWriterAndOneReaderSeeEveryEventInOrder() throws InterruptedException {
+        InputQueue queue = new InputQueue(16);
+        int total = 20_000;
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < total; i++) {
+                AWTEvent event = event(i);
+                while (!queue.offer(event, i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        writer.start();
+
+        for (int expected = 0; expected < total; expected++) {
+            AWTEvent event;
+            while ((event = queue.peek()) == null) {
+                Thread.yield();
+            }
+            assertEquals(expected, id(event));
+            assertEquals(expected, queue.peekTime());
+            queue.poll();
+        }
+        writer.join();
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,120 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SchedulerTest {
+    @Test
+    void sequenceRunsItsStepsInOrder() {
+        Scheduler scheduler = new Scheduler();
+        List<String> log = new ArrayList<>();
+        scheduler.sequence()
+                .then(() -> log.add("a"))
+                .pause(0.5)
+                .then(() -> log.add("b"))
+                .then(() -> log.add("c"))
+                .pause(0.5)
+                .then(() -> log.add("d"))
+                .start();
+
+        scheduler.update(0.1);
+        assertEquals(List.of("a"), log);
+        scheduler.update(0.5);
+        assertEquals(List.of("a", "b", "c"), log);
+        scheduler.update(0.5);
+        assertEquals(List.of("a", "b", "c", "d"), log);
+        assertTrue(scheduler.isIdle());
+    }
+
+    @Test
+    void tweenEndsAtExactlyOne() {
+        Scheduler scheduler = new Scheduler();
+        List<Double> values = new ArrayList<>();
+        Scheduler.Task task = scheduler.tween(1, values::add);
+
+        scheduler.update(0.25);
+        scheduler.update(0.5);
+        assertEquals(List.of(0.25, 0.75), values);
+        assertFalse(task.isDone());
+
+        // Overshooting the end still passes 1, once
+        scheduler.update(0.7);
+        scheduler.update(0.7);
+        assertEquals(List.of(0.25, 0.75, 1.0), values);
+        assertTrue(task.isDone());
+    }
+
+    @Test
+    void leftOverTimeCarriesIntoTheNextStep() {
+        Scheduler scheduler = new Scheduler();
+        List<Double> values = new ArrayList<>();
+        List<String> log = new ArrayList<>();
+        scheduler.sequence()
+                .pause(0.3)
+                .then(() -> log.add("paused"))
+                .tween(1, values::add)
+                .then(() -> log.add("done"))
+                .start();
+
+        // One step covering the pause and part of the tween
+        scheduler.update(0.8);
+        assertEquals(List.of("paused"), log);
+        assertEquals(0.5, values.get(0), 1e-9);
+
+        scheduler.update(0.6);
+        assertEquals(List.of("paused", "done"), log);
+        assertEquals(1.0, values.get(values.size() - 1));
+    }
+
+    @Test
+    void fastForwardGivesTheSameResultAsSmallSteps() {
+        GameEngine engine = new GameEngine() {
+            @Override
+            public void update(double dt) {
+            }
+
+            @Override
+            public void paintComponent() {
+            }
+        };
+        List<Integer> log = new ArrayList<>();
+        Scheduler.Sequence sequence = engine.scheduler().sequence();
+        for (int i = 0; i < 5; i++) {
+            int step = i;
+            sequence.then(() -> log.add(step)).pause(0.25);
+        }
+        sequence.start();
+
+        // Not a whole number of update steps, so step boundaries fall inside pauses
+        engine.fastForward(0.6);
+        assertEquals(List.of(0, 1, 2), log);
+        engine.fastForward(1);
+        assertEquals(List.of(0, 1, 2, 3, 4), log);
+        assertTrue(engine.scheduler().isIdle());
+    }
+
+    @Test
+    void cancelAllFromARunningTaskSkipsTheRest() {
+        Scheduler scheduler = new Scheduler();
+        List<String> log = new ArrayList<>();
+        scheduler.after(0.1, () -> {
+            log.add("first");
+            scheduler.cancelAll();
+        });
+        scheduler.after(0.1, () -> log.add("second"));
+        scheduler.tween(1, progress -> log.add("tween"));
+
+        scheduler.update(0.2);
+        assertEquals(List.of("first"), log);
+        assertTrue(scheduler.isIdle());
+
+        // The scheduler keeps working afterwards
+        scheduler.after(0, () -> log.add("later"));
+        scheduler.update(0.1);
+        assertEquals(List.of("first", "later"), log);
+    }
+}
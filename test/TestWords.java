@@ -0,0 +1,21 @@
+import java.util.Random;
+
+// Helpers shared by the word tests
+final class TestWords {
+    static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    // A small alphabet, so most random words repeat letters
+    static final String FEW_LETTERS = "ABCE";
+
+    private TestWords() {
+    }
+
+    // A word of letterCount letters picked at random from alphabet, which need not be in any dictionary
+    static String randomWord(Random random, String alphabet, int letterCount) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < letterCount; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+}
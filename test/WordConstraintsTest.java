@@ -0,0 +1,85 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// A word matches the constraints exactly when it would have produced the same
+// feedback as the answer for every guess so far.
+class WordConstraintsTest {
+    @Test
+    void matchesWordsGivingTheSameFeedback() {
+        WordConstraints constraints = new WordConstraints(5);
+        int guess = Dictionary.encode("SPEED");
+        constraints.addFeedback(guess, Feedback.score(guess, Dictionary.encode("ABIDE"), 5));
+
+        assertTrue(constraints.matches(Dictionary.encode("ABIDE")));
+        assertTrue(constraints.matches(Dictionary.encode("DENIM")));
+        assertFalse(constraints.matches(Dictionary.encode("EDGED")), "only one E");
+        assertFalse(constraints.matches(Dictionary.encode("DRESS")), "no S");
+        assertFalse(constraints.matches(Dictionary.encode("IDEAL")), "E is not third");
+    }
+
+    @Test
+    void singleGuessMatchesIffSameFeedback() {
+        Random random = new Random(7);
+        for (int letterCount = 4; letterCount <= 6; letterCount++) {
+            WordConstraints constraints = new WordConstraints(letterCount);
+            for (int n = 0; n < 2_000; n++) {
+                int guess = Dictionary.encode(TestWords.randomWord(random, TestWords.FEW_LETTERS, letterCount));
+                int answer = Dictionary.encode(TestWords.randomWord(random, TestWords.FEW_LETTERS, letterCount));
+                int pattern = Feedback.score(guess, answer, letterCount);
+                constraints.reset(letterCount);
+                constraints.addFeedback(guess, pattern);
+
+                for (int m = 0; m < 20; m++) {
+                    int word = Dictionary.encode(TestWords.randomWord(random, TestWords.FEW_LETTERS, letterCount));
+                    assertEquals(Feedback.score(guess, word, letterCount) == pattern, constraints.matches(word),
+                            Dictionary.decode(word, letterCount) + " for " + Dictionary.decode(guess, letterCount));
+                }
+            }
+        }
+    }
+
+    @Test
+    void severalGuessesMatchIffSameFeedbackForAll() {
+        Random random = new Random(11);
+        int letterCount = 5;
+        WordConstraints constraints = new WordConstraints(letterCount);
+        int[] guesses = new int[3];
+        int[] patterns = new int[guesses.length];
+        for (int n = 0; n < 2_000; n++) {
+            int answer = Dictionary.encode(TestWords.randomWord(random, TestWords.FEW_LETTERS, letterCount));
+            constraints.reset(letterCount);
+            for (int g = 0; g < guesses.length; g++) {
+                guesses[g] = Dictionary.encode(TestWords.randomWord(random, TestWords.FEW_LETTERS, letterCount));
+                patterns[g] = Feedback.score(guesses[g], answer, letterCount);
+                constraints.addFeedback(guesses[g], patterns[g]);
+            }
+            assertTrue(constraints.matches(answer));
+
+            for (int m = 0; m < 20; m++) {
+                int word = Dictionary.encode(TestWords.randomWord(random, TestWords.FEW_LETTERS, letterCount));
+                boolean expected = true;
+                for (int g = 0; g < guesses.length; g++) {
+                    expected &= Feedback.score(guesses[g], word, letterCount) == patterns[g];
+                }
+                assertEquals(expected, constraints.matches(word), Dictionary.decode(word, letterCount));
+            }
+        }
+    }
+
+    @Test
+    void resetForgetsFeedback() {
+        WordConstraints constraints = new WordConstraints(4);
+        int guess = Dictionary.encode("ABCE");
+        constraints.addFeedback(guess, 0);
+        assertFalse(constraints.matches(Dictionary.encode("BEAD")));
+
+        constraints.reset(4);
+        assertTrue(constraints.matches(Dictionary.encode("BEAD")));
+        assertTrue(constraints.matches(guess));
+    }
+}